@@ -0,0 +1,473 @@
+package pe.cibertec.samebanner.benchmark;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import pe.cibertec.samebanner.SamebannerApplication;
+import pe.cibertec.samebanner.dto.EstadisticasPoolDTO;
+import pe.cibertec.samebanner.model.Curso;
+import pe.cibertec.samebanner.model.Usuario;
+import pe.cibertec.samebanner.repository.CursoRepository;
+import pe.cibertec.samebanner.repository.UsuarioRepository;
+import pe.cibertec.samebanner.service.ICursoService;
+import pe.cibertec.samebanner.service.IProyeccionService;
+import pe.cibertec.samebanner.util.MetricasPool;
+import pe.cibertec.samebanner.util.Token;
+
+/**
+ * Prueba de carga que recorre varios tamaños de pool y mide el throughput de
+ * GET /api/courses?limit=... (listado paginado, siempre va a la base) y GET /api/student/projections.
+ * Por cada tamaño levanta la aplicación completa, carga datos si faltan, calienta y mide con
+ * N clientes concurrentes. No es un benchmark JMH: se ejecuta con
+ *
+ *   mvn -Pbenchmark,carga verify [-Dcarga.pools=5,10,20,40] [-Dcarga.clientes=64] [-Dcarga.segundos=20]
+ *
+ * Por defecto usa H2 en memoria (perfil "benchmark"), útil solo para comparar versiones. Para elegir
+ * el tamaño de producción se apunta a MySQL con el perfil prod, idealmente con la base en otra máquina:
+ *
+ *   SPRING_DATASOURCE_URL=jdbc:mysql://... SPRING_DATASOURCE_PASSWORD=... mvn -Pbenchmark,carga verify -Dcarga.perfiles=prod
+ *
+ * El resultado se imprime como tabla y queda en target/carga-pool.csv.
+ *
+ * Con -Dcarga.escenario=login mide en cambio la latencia de GET /api/courses (catálogo en memoria,
+ * sin BCrypt) primero sola y luego mientras -Dcarga.login.clientes clientes hacen login sin pausa,
+ * con el pool por defecto de la aplicación. Si el hash de contraseñas compite con los hilos de
+ * Tomcat, el p99 del listado sube durante la ráfaga; con EjecutorHash debe mantenerse y el exceso
+ * de logins sale como 503. Queda en target/carga-login.csv.
+ *
+ * Con -Dcarga.escenario=hilos repite la mezcla del barrido de pools con -Dcarga.hilos.clientes
+ * clientes (2000 por defecto, un hilo y una conexión HTTP por estudiante) dos veces con el mismo
+ * pool (-Dcarga.pool): con los hilos de plataforma de Tomcat y con el perfil "virtual". Los hilos
+ * virtuales requieren Java 21; en una JVM anterior spring.threads.virtual.enabled se ignora, así
+ * que esa fila se omite en lugar de publicar una comparación que no lo es. Queda en target/carga-hilos.csv.
+ */
+public final class CargaPool {
+
+    private static final int CURSOS = 240;
+    private static final int ESTUDIANTES = 200;
+    private static final int CURSOS_POR_PROYECCION = 5;
+    private static final String[] DIAS = {"Lunes", "Martes", "Miércoles", "Jueves", "Viernes", "Sábado"};
+    private static final int USUARIOS_LOGIN = 50;
+    private static final String PASSWORD_LOGIN = "Carga-2024";
+
+    private record Resultado(int pool, double peticionesPorSegundo, double p50Ms, double p99Ms, long errores,
+            double esperaPromedioMs, double esperaMaximaMs, long timeouts) {
+    }
+
+    private record ResultadoHilos(String modo, Resultado medicion) {
+    }
+
+    private record ResultadoLogin(String fase, double cursosPorSegundo, double p50Ms, double p99Ms, long errores,
+            double loginsPorSegundo, double loginP99Ms, long loginErrores, long rechazados) {
+    }
+
+    private CargaPool() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] pools = Arrays.stream(System.getProperty("carga.pools", "5,10,20,40").split(","))
+                .mapToInt(valor -> Integer.parseInt(valor.trim()))
+                .toArray();
+        int clientes = Integer.getInteger("carga.clientes", 64);
+        int segundos = Integer.getInteger("carga.segundos", 20);
+        int calentamiento = Integer.getInteger("carga.calentamiento", 5);
+        String perfiles = System.getProperty("carga.perfiles", "benchmark");
+        String escenario = System.getProperty("carga.escenario", "pool");
+        Path salida = Path.of(System.getProperty("carga.salida", "target/carga-" + escenario + ".csv"));
+
+        if ("login".equals(escenario)) {
+            int clientesLogin = Integer.getInteger("carga.login.clientes", 32);
+            List<ResultadoLogin> resultados = ejecutarLogin(perfiles, clientes, clientesLogin, calentamiento, segundos);
+            System.out.printf("%nclientes=%d, clientes de login=%d, %d s por fase, perfiles=%s%n",
+                    clientes, clientesLogin, segundos, perfiles);
+            System.out.printf("%-15s %13s %9s %9s %8s %12s %14s %14s %9s%n", "fase", "cursos req/s", "p50 ms", "p99 ms",
+                    "errores", "login req/s", "login p99 ms", "login errores", "login 503");
+            for (ResultadoLogin r : resultados) {
+                System.out.printf("%-15s %13.1f %9.2f %9.2f %8d %12.1f %14.2f %14d %9d%n", r.fase(), r.cursosPorSegundo(),
+                        r.p50Ms(), r.p99Ms(), r.errores(), r.loginsPorSegundo(), r.loginP99Ms(), r.loginErrores(),
+                        r.rechazados());
+            }
+            escribirCsvLogin(salida, resultados);
+            System.out.println("Resultado guardado en " + salida.toAbsolutePath());
+            return;
+        }
+
+        if ("hilos".equals(escenario)) {
+            int pool = Integer.getInteger("carga.pool", 30);
+            int estudiantes = Integer.getInteger("carga.hilos.clientes", 2000);
+            Map<String, String> modos = new LinkedHashMap<>();
+            modos.put("plataforma", perfiles);
+            int version = Runtime.version().feature();
+            if (version >= 21) {
+                modos.put("virtuales", perfiles + ",virtual");
+            } else {
+                System.out.printf("%nJava %d: los hilos virtuales requieren Java 21, se mide solo el modo plataforma%n", version);
+            }
+            List<ResultadoHilos> resultados = new ArrayList<>();
+            for (Map.Entry<String, String> modo : modos.entrySet()) {
+                resultados.add(new ResultadoHilos(modo.getKey(),
+                        ejecutar(pool, modo.getValue(), estudiantes, calentamiento, segundos)));
+            }
+
+            System.out.printf("%nclientes=%d, pool=%d, %d s por modo, perfiles=%s, java=%d%n",
+                    estudiantes, pool, segundos, perfiles, version);
+            System.out.printf("%-11s %10s %9s %9s %8s %14s %9s%n",
+                    "hilos", "req/s", "p50 ms", "p99 ms", "errores", "espera prom ms", "timeouts");
+            for (ResultadoHilos r : resultados) {
+                Resultado m = r.medicion();
+                System.out.printf("%-11s %10.1f %9.2f %9.2f %8d %14.3f %9d%n", r.modo(), m.peticionesPorSegundo(),
+                        m.p50Ms(), m.p99Ms(), m.errores(), m.esperaPromedioMs(), m.timeouts());
+            }
+            escribirCsvHilos(salida, resultados);
+            System.out.println("Resultado guardado en " + salida.toAbsolutePath());
+            return;
+        }
+
+        List<Resultado> resultados = new ArrayList<>();
+        for (int pool : pools) {
+            resultados.add(ejecutar(pool, perfiles, clientes, calentamiento, segundos));
+        }
+
+        System.out.printf("%nclientes=%d, %d s por tamaño, perfiles=%s%n", clientes, segundos, perfiles);
+        System.out.printf("%6s %10s %9s %9s %8s %14s %14s %9s%n",
+                "pool", "req/s", "p50 ms", "p99 ms", "errores", "espera prom ms", "espera máx ms", "timeouts");
+        for (Resultado r : resultados) {
+            System.out.printf("%6d %10.1f %9.2f %9.2f %8d %14.3f %14.1f %9d%n", r.pool(), r.peticionesPorSegundo(),
+                    r.p50Ms(), r.p99Ms(), r.errores(), r.esperaPromedioMs(), r.esperaMaximaMs(), r.timeouts());
+        }
+        escribirCsv(salida, resultados);
+        System.out.println("Resultado guardado en " + salida.toAbsolutePath());
+    }
+
+    // Las propiedades van como argumentos de línea de comandos: las "default properties" tienen la
+    // menor precedencia y application.properties o el perfil (p. ej. prod) las pisarían
+    private static ConfigurableApplicationContext iniciar(String perfiles, Map<String, Object> propiedades) {
+        SpringApplication aplicacion = new SpringApplication(SamebannerApplication.class);
+        aplicacion.setAdditionalProfiles(perfiles.split(","));
+        Map<String, Object> todas = new HashMap<>(propiedades);
+        todas.put("server.port", 0);
+        todas.put("samebanner.limite.habilitado", false);
+        return aplicacion.run(todas.entrySet().stream()
+                .map(propiedad -> "--" + propiedad.getKey() + "=" + propiedad.getValue())
+                .toArray(String[]::new));
+    }
+
+    private static HttpClient clienteHttp() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    private static Resultado ejecutar(int pool, String perfiles, int clientes, int calentamiento, int segundos)
+            throws InterruptedException {
+        Map<String, Object> propiedades = new HashMap<>();
+        propiedades.put("spring.datasource.hikari.maximum-pool-size", pool);
+        propiedades.put("spring.datasource.hikari.minimum-idle", pool);
+
+        try (ConfigurableApplicationContext contexto = iniciar(perfiles, propiedades)) {
+            List<String> tokens = preparar(contexto);
+            int puerto = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            HttpClient cliente = clienteHttp();
+            MetricasPool metricasPool = contexto.getBean(MetricasPool.class);
+            // Cada cliente alterna el listado paginado (un ciclo distinto cada vez) y la proyección de un estudiante
+            BiFunction<Random, Integer, HttpRequest> peticiones = (random, n) -> get(puerto, n % 2 == 0
+                    ? "/api/courses?limit=20&cycle=" + ciclo(random)
+                    : "/api/student/projections", tokens.get(random.nextInt(tokens.size())));
+
+            medir(cliente, clientes, calentamiento, peticiones);
+            EstadisticasPoolDTO antes = metricasPool.estadisticas();
+            Medicion medicion = medir(cliente, clientes, segundos, peticiones);
+            EstadisticasPoolDTO despues = metricasPool.estadisticas();
+
+            long adquisiciones = despues.getAdquisiciones() - antes.getAdquisiciones();
+            double esperaTotal = despues.getEsperaPromedioMs() * despues.getAdquisiciones()
+                    - antes.getEsperaPromedioMs() * antes.getAdquisiciones();
+            return new Resultado(pool,
+                    medicion.peticiones() / (double) segundos,
+                    medicion.percentil(0.50),
+                    medicion.percentil(0.99),
+                    medicion.errores() + medicion.rechazados(),
+                    adquisiciones > 0 ? esperaTotal / adquisiciones : 0,
+                    despues.getEsperaMaximaMs(),
+                    despues.getTimeouts() - antes.getTimeouts());
+        }
+    }
+
+    // Dos fases de la misma duración: el listado solo y el listado durante la ráfaga de logins
+    private static List<ResultadoLogin> ejecutarLogin(String perfiles, int clientes, int clientesLogin,
+            int calentamiento, int segundos) throws InterruptedException {
+        try (ConfigurableApplicationContext contexto = iniciar(perfiles, Map.of())) {
+            List<String> tokens = preparar(contexto);
+            List<String> emails = prepararLogin(contexto);
+            int puerto = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            HttpClient cliente = clienteHttp();
+            BiFunction<Random, Integer, HttpRequest> cursos = (random, n) ->
+                    get(puerto, "/api/courses?cycle=" + ciclo(random), tokens.get(random.nextInt(tokens.size())));
+            BiFunction<Random, Integer, HttpRequest> logins = (random, n) ->
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/api/auth/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + emails.get(random.nextInt(emails.size()))
+                                    + "\",\"password\":\"" + PASSWORD_LOGIN + "\"}"))
+                            .build();
+
+            medir(cliente, clientes, calentamiento, cursos);
+            Medicion sola = medir(cliente, clientes, segundos, cursos);
+
+            // El calentamiento de login también llena la cache de usuarios, como en una ventana de matrícula real
+            medir(cliente, clientesLogin, calentamiento, logins);
+            Carga rafaga = Carga.iniciar(cliente, clientesLogin, logins, "login");
+            Medicion durante = medir(cliente, clientes, segundos, cursos);
+            Medicion login = rafaga.detener();
+
+            return List.of(
+                    new ResultadoLogin("sin login", sola.peticiones() / (double) segundos, sola.percentil(0.50),
+                            sola.percentil(0.99), sola.errores() + sola.rechazados(), 0, 0, 0, 0),
+                    new ResultadoLogin("durante logins", durante.peticiones() / (double) segundos,
+                            durante.percentil(0.50), durante.percentil(0.99), durante.errores() + durante.rechazados(),
+                            login.peticiones() / (double) segundos, login.percentil(0.99), login.errores(),
+                            login.rechazados()));
+        }
+    }
+
+    private static HttpRequest get(int puerto, String ruta, String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + ruta))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private static String ciclo(Random random) {
+        return String.format("Ciclo_%02d", 1 + random.nextInt(10));
+    }
+
+    private record Medicion(long peticiones, long errores, long rechazados, long[] latenciasNanos) {
+
+        double percentil(double p) {
+            if (latenciasNanos.length == 0) {
+                return 0;
+            }
+            return latenciasNanos[(int) Math.min(latenciasNanos.length - 1, p * latenciasNanos.length)] / 1e6;
+        }
+    }
+
+    private static Medicion medir(HttpClient cliente, int clientes, int segundos,
+            BiFunction<Random, Integer, HttpRequest> peticiones) throws InterruptedException {
+        Carga carga = Carga.iniciar(cliente, clientes, peticiones, "carga");
+        Thread.sleep(segundos * 1000L);
+        return carga.detener();
+    }
+
+    // Clientes que repiten peticiones sin pausa hasta detener(); los 503 (contrapresión) se cuentan aparte
+    private static final class Carga {
+
+        private final AtomicBoolean detener = new AtomicBoolean();
+        private final LongAdder errores = new LongAdder();
+        private final LongAdder rechazados = new LongAdder();
+        private final List<long[]> latencias = new ArrayList<>();
+        private final int[] cantidades;
+        private final CountDownLatch terminados;
+
+        private Carga(int clientes) {
+            this.cantidades = new int[clientes];
+            this.terminados = new CountDownLatch(clientes);
+        }
+
+        static Carga iniciar(HttpClient cliente, int clientes, BiFunction<Random, Integer, HttpRequest> peticiones,
+                String nombre) {
+            Carga carga = new Carga(clientes);
+            // Con miles de clientes el búfer por cliente se achica para acotar la memoria (~32 MB en total)
+            int capacidad = Math.max(1 << 10, Math.min(1 << 16, (1 << 22) / clientes));
+            for (int c = 0; c < clientes; c++) {
+                int indice = c;
+                long[] propias = new long[capacidad];
+                carga.latencias.add(propias);
+                Thread hilo = new Thread(() -> {
+                    Random random = new Random(indice);
+                    int n = 0;
+                    try {
+                        while (!carga.detener.get()) {
+                            HttpRequest peticion = peticiones.apply(random, n);
+                            long inicio = System.nanoTime();
+                            try {
+                                HttpResponse<Void> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.discarding());
+                                if (respuesta.statusCode() == 503) {
+                                    carga.rechazados.increment();
+                                } else if (respuesta.statusCode() != 200) {
+                                    carga.errores.increment();
+                                }
+                            } catch (IOException e) {
+                                carga.errores.increment();
+                            }
+                            if (n < propias.length) {
+                                propias[n] = System.nanoTime() - inicio;
+                            }
+                            n++;
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        carga.cantidades[indice] = n;
+                        carga.terminados.countDown();
+                    }
+                }, nombre + "-" + c);
+                hilo.setDaemon(true);
+                hilo.start();
+            }
+            return carga;
+        }
+
+        Medicion detener() throws InterruptedException {
+            detener.set(true);
+            terminados.await();
+
+            long total = 0;
+            List<Long> todas = new ArrayList<>();
+            for (int c = 0; c < cantidades.length; c++) {
+                total += cantidades[c];
+                long[] propias = latencias.get(c);
+                for (int i = 0; i < Math.min(cantidades[c], propias.length); i++) {
+                    todas.add(propias[i]);
+                }
+            }
+            long[] ordenadas = todas.stream().mapToLong(Long::longValue).sorted().toArray();
+            return new Medicion(total, errores.sum(), rechazados.sum(), ordenadas);
+        }
+    }
+
+    // Cursos en bloques horarios distintos y estudiantes con una proyección de 5 cursos consecutivos
+    // (días distintos, sin cruces). Si los datos ya existen (p. ej. en MySQL) se reutilizan.
+    private static List<String> preparar(ConfigurableApplicationContext contexto) {
+        ICursoService cursoService = contexto.getBean(ICursoService.class);
+        CursoRepository cursoRepository = contexto.getBean(CursoRepository.class);
+        UsuarioRepository usuarioRepository = contexto.getBean(UsuarioRepository.class);
+        IProyeccionService proyeccionService = contexto.getBean(IProyeccionService.class);
+
+        List<String> codigos = new ArrayList<>(CURSOS);
+        for (int i = 0; i < CURSOS; i++) {
+            codigos.add(String.format("CARGA-%04d", i));
+        }
+        Map<String, Curso> existentes = cursoService.buscarCursosPorCodigo(codigos);
+        Random random = new Random(11);
+        List<Curso> nuevos = new ArrayList<>();
+        for (int i = 0; i < CURSOS; i++) {
+            if (!existentes.containsKey(codigos.get(i))) {
+                Curso curso = Datos.curso(i + 1, random);
+                curso.setId(null);
+                curso.setCodigoCurso(codigos.get(i));
+                curso.setHorarioDias(DIAS[i % DIAS.length]);
+                curso.setHoraInicio(LocalTime.of(7 + (i / DIAS.length) % 14, 0));
+                curso.setHoraFin(curso.getHoraInicio().plusMinutes(50));
+                curso.setVacantesTotales(1_000_000);
+                curso.setVacantesDisponibles(1_000_000);
+                nuevos.add(curso);
+            }
+        }
+        cursoRepository.saveAll(nuevos);
+        cursoService.recargarCatalogo();
+
+        List<String> tokens = new ArrayList<>(ESTUDIANTES);
+        for (int e = 0; e < ESTUDIANTES; e++) {
+            String email = "carga" + e + "@cibertec.edu.pe";
+            Usuario usuario = usuarioRepository.findOneByEmail(email).orElseGet(() -> {
+                Usuario nuevo = new Usuario();
+                nuevo.setEmail(email);
+                // Nunca inicia sesión: el token se firma directamente
+                nuevo.setPassword("-");
+                nuevo.setNombre("Carga");
+                nuevo.setApellido(email);
+                nuevo.setRol("estudiante");
+                return usuarioRepository.save(nuevo);
+            });
+            int desde = (e * CURSOS_POR_PROYECCION) % (CURSOS - CURSOS_POR_PROYECCION);
+            proyeccionService.guardarProyeccion(usuario.getId(), "Ciclo_05",
+                    codigos.subList(desde, desde + CURSOS_POR_PROYECCION));
+            tokens.add(Token.crearToken(usuario.getId(), email, email, "estudiante"));
+        }
+        return tokens;
+    }
+
+    // Usuarios con contraseña real para el escenario de login; el hash usa el PasswordEncoder de la
+    // aplicación, así que el costo es el configurado en samebanner.seguridad.bcrypt.costo
+    private static List<String> prepararLogin(ConfigurableApplicationContext contexto) {
+        UsuarioRepository usuarioRepository = contexto.getBean(UsuarioRepository.class);
+        PasswordEncoder passwordEncoder = contexto.getBean(PasswordEncoder.class);
+
+        List<String> emails = new ArrayList<>(USUARIOS_LOGIN);
+        for (int e = 0; e < USUARIOS_LOGIN; e++) {
+            String email = "carga-login" + e + "@cibertec.edu.pe";
+            if (usuarioRepository.findOneByEmail(email).isEmpty()) {
+                Usuario nuevo = new Usuario();
+                nuevo.setEmail(email);
+                nuevo.setPassword(passwordEncoder.encode(PASSWORD_LOGIN));
+                nuevo.setNombre("Carga");
+                nuevo.setApellido(email);
+                nuevo.setRol("estudiante");
+                usuarioRepository.save(nuevo);
+            }
+            emails.add(email);
+        }
+        return emails;
+    }
+
+    private static void escribirCsvLogin(Path salida, List<ResultadoLogin> resultados) throws IOException {
+        Files.createDirectories(salida.toAbsolutePath().getParent());
+        try (PrintWriter escritor = new PrintWriter(Files.newBufferedWriter(salida))) {
+            escritor.println("fase,cursos_req_s,p50_ms,p99_ms,errores,login_req_s,login_p99_ms,login_errores,login_503");
+            for (ResultadoLogin r : resultados) {
+                escritor.printf(Locale.ROOT, "%s,%.1f,%.3f,%.3f,%d,%.1f,%.3f,%d,%d%n", r.fase(), r.cursosPorSegundo(),
+                        r.p50Ms(), r.p99Ms(), r.errores(), r.loginsPorSegundo(), r.loginP99Ms(), r.loginErrores(),
+                        r.rechazados());
+            }
+        }
+    }
+
+    private static void escribirCsvHilos(Path salida, List<ResultadoHilos> resultados) throws IOException {
+        Files.createDirectories(salida.toAbsolutePath().getParent());
+        try (PrintWriter escritor = new PrintWriter(Files.newBufferedWriter(salida))) {
+            escritor.println("hilos,req_s,p50_ms,p99_ms,errores,espera_prom_ms,timeouts");
+            for (ResultadoHilos r : resultados) {
+                Resultado m = r.medicion();
+                escritor.printf(Locale.ROOT, "%s,%.1f,%.3f,%.3f,%d,%.3f,%d%n", r.modo(), m.peticionesPorSegundo(),
+                        m.p50Ms(), m.p99Ms(), m.errores(), m.esperaPromedioMs(), m.timeouts());
+            }
+        }
+    }
+
+    private static void escribirCsv(Path salida, List<Resultado> resultados) throws IOException {
+        Files.createDirectories(salida.toAbsolutePath().getParent());
+        try (PrintWriter escritor = new PrintWriter(Files.newBufferedWriter(salida))) {
+            escritor.println("pool,req_s,p50_ms,p99_ms,errores,espera_prom_ms,espera_max_ms,timeouts");
+            for (Resultado r : resultados) {
+                escritor.printf(Locale.ROOT, "%d,%.1f,%.3f,%.3f,%d,%.3f,%.1f,%d%n", r.pool(),
+                        r.peticionesPorSegundo(), r.p50Ms(), r.p99Ms(), r.errores(), r.esperaPromedioMs(),
+                        r.esperaMaximaMs(), r.timeouts());
+            }
+        }
+    }
+}
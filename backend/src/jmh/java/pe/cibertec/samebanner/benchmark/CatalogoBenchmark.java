@@ -0,0 +1,85 @@
+package pe.cibertec.samebanner.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import pe.cibertec.samebanner.model.Docente;
+import pe.cibertec.samebanner.util.CatalogoSerializado;
+import pe.cibertec.samebanner.util.VersionesCatalogo;
+import pe.cibertec.samebanner.util.VersionesCatalogo.Tabla;
+
+// CPU por petición de GET /api/teachers: serializar y comprimir en cada petición (lo que hacían
+// Jackson y server.compression) frente a elegir el cuerpo ya armado por CatalogoSerializado.
+// La consulta findAll() que se evita con el cuerpo armado no está incluida.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogoBenchmark {
+
+    private ObjectMapper objectMapper;
+    private List<Docente> docentes;
+    private CatalogoSerializado catalogoSerializado;
+
+    @Setup
+    public void setup() throws Exception {
+        // Misma configuración que application.properties
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        docentes = Datos.docentes(150);
+        // Solo se lee la versión en memoria: el JdbcTemplate sin DataSource nunca se usa
+        catalogoSerializado = new CatalogoSerializado(new VersionesCatalogo(new JdbcTemplate(), 0, 3600, 600),
+                objectMapper, 2048);
+
+        CatalogoSerializado.Cuerpo cuerpo = catalogoSerializado.obtener(Tabla.DOCENTES, "full", () -> docentes);
+        System.out.printf("%nBytes por respuesta: identidad=%d gzip(por petición)=%d gzip(armado)=%d%n",
+                cuerpo.identidad().length, porPeticionGzip().length, cuerpo.gzip().length);
+    }
+
+    @Benchmark
+    public byte[] porPeticionIdentidad() throws Exception {
+        return objectMapper.writeValueAsBytes(docentes);
+    }
+
+    @Benchmark
+    public byte[] porPeticionGzip() throws Exception {
+        // Nivel por defecto, el mismo que usa el filtro de compresión de Tomcat
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            objectMapper.writeValue(gzip, docentes);
+        }
+        return salida.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] armadoIdentidad() {
+        return catalogoSerializado.obtener(Tabla.DOCENTES, "full", () -> docentes).identidad();
+    }
+
+    @Benchmark
+    public byte[] armadoGzip() {
+        return catalogoSerializado.obtener(Tabla.DOCENTES, "full", () -> docentes).gzip();
+    }
+}
@@ -0,0 +1,67 @@
+package pe.cibertec.samebanner.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pe.cibertec.samebanner.dto.ConflictoHorarioDTO;
+import pe.cibertec.samebanner.model.Curso;
+import pe.cibertec.samebanner.serviceImplement.ConflictoHorarioServiceImplement;
+
+// Proyecciones de 10 cursos tomadas de un catálogo de 5 000 cursos con el horario ya interpretado
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConflictoHorarioBenchmark {
+
+    private static final int PROYECCIONES = 1024;
+
+    @Param({"5000"})
+    private int tamanoCatalogo;
+
+    @Param({"10"})
+    private int cursosPorProyeccion;
+
+    private ConflictoHorarioServiceImplement servicio;
+    private List<List<Curso>> proyecciones;
+    private int siguiente;
+
+    @Setup
+    public void setup() {
+        servicio = new ConflictoHorarioServiceImplement(null);
+        List<Curso> catalogo = Datos.catalogo(tamanoCatalogo, 7);
+        catalogo.forEach(Curso::getBloqueHorario);
+
+        Random random = new Random(11);
+        proyecciones = new ArrayList<>(PROYECCIONES);
+        for (int i = 0; i < PROYECCIONES; i++) {
+            List<Curso> cursos = new ArrayList<>(cursosPorProyeccion);
+            for (int j = 0; j < cursosPorProyeccion; j++) {
+                cursos.add(catalogo.get(random.nextInt(catalogo.size())));
+            }
+            proyecciones.add(cursos);
+        }
+    }
+
+    @Benchmark
+    public List<ConflictoHorarioDTO> detectarConflictos() {
+        siguiente = (siguiente + 1) & (PROYECCIONES - 1);
+        return servicio.detectarConflictos(proyecciones.get(siguiente));
+    }
+}
@@ -0,0 +1,97 @@
+package pe.cibertec.samebanner.benchmark;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import pe.cibertec.samebanner.model.Curso;
+import pe.cibertec.samebanner.model.Docente;
+import pe.cibertec.samebanner.model.Proyeccion;
+import pe.cibertec.samebanner.model.ProyeccionCurso;
+
+// Datos sintéticos con la forma de database/samebanner.sql
+final class Datos {
+
+    private static final String[] HORARIOS = {"Lunes,Miércoles", "Martes,Jueves", "Viernes", "Sábado"};
+
+    private Datos() {
+    }
+
+    static Curso curso(int id, Random random) {
+        Curso curso = new Curso();
+        curso.setId(id);
+        curso.setCodigoCurso(String.format("CUR%05d", id));
+        curso.setNombre("Curso de prueba " + id);
+        curso.setDescripcion("Descripción extensa del curso " + id + " con objetivos, sumilla y bibliografía básica.");
+        curso.setCreditos(3 + random.nextInt(3));
+        curso.setCiclo(String.format("Ciclo_%02d", 1 + random.nextInt(10)));
+        curso.setCarreraId(1 + random.nextInt(5));
+        curso.setAreaConocimiento("Ingeniería de Software");
+        curso.setModalidad(random.nextBoolean() ? "presencial" : "virtual");
+        curso.setSede("Independencia");
+        curso.setTurno(random.nextBoolean() ? "manana" : "noche");
+        curso.setVacantesTotales(40);
+        curso.setVacantesDisponibles(40);
+        curso.setDocenteId(1 + random.nextInt(50));
+        curso.setHorarioDias(HORARIOS[random.nextInt(HORARIOS.length)]);
+        int hora = 7 + random.nextInt(14);
+        curso.setHoraInicio(LocalTime.of(hora, random.nextBoolean() ? 0 : 30));
+        curso.setHoraFin(curso.getHoraInicio().plusMinutes(90));
+        curso.setAula("A-" + (100 + random.nextInt(400)));
+        curso.setEnlaceVirtual("https://aulavirtual.cibertec.edu.pe/curso/" + id);
+        curso.setActivo(true);
+        curso.setFechaCreacion(LocalDateTime.now());
+        return curso;
+    }
+
+    static List<Curso> catalogo(int tamano, long semilla) {
+        Random random = new Random(semilla);
+        List<Curso> cursos = new ArrayList<>(tamano);
+        for (int i = 1; i <= tamano; i++) {
+            cursos.add(curso(i, random));
+        }
+        return cursos;
+    }
+
+    static List<Docente> docentes(int tamano) {
+        List<Docente> docentes = new ArrayList<>(tamano);
+        for (int i = 1; i <= tamano; i++) {
+            Docente docente = new Docente();
+            docente.setId(i);
+            docente.setCodigo_docente(String.format("DOC%04d", i));
+            docente.setNombre("Nombre" + i);
+            docente.setApellido("Apellido" + i);
+            docente.setEmail("docente" + i + "@cibertec.edu.pe");
+            docente.setEspecialidad("Ingeniería de Software");
+            docente.setDepartamento("Computación e Informática");
+            docente.setUbicacion_oficina("Pabellón B, oficina " + (200 + i));
+            docente.setHorario_atencion("Lunes y Miércoles 18:00 - 20:00");
+            docente.setAreas_investigacion("Arquitectura de software, bases de datos, sistemas distribuidos");
+            docente.setGrado_academico("Magíster");
+            docente.setActivo(true);
+            docente.setFecha_creacion(LocalDateTime.now());
+            docentes.add(docente);
+        }
+        return docentes;
+    }
+
+    static Proyeccion proyeccion(List<Curso> cursos) {
+        Proyeccion proyeccion = new Proyeccion();
+        proyeccion.setId(1);
+        proyeccion.setUsuarioId(1);
+        proyeccion.setCicloProyectado("Ciclo_05");
+        proyeccion.setFechaCreacion(LocalDateTime.now());
+        proyeccion.setFechaActualizacion(LocalDateTime.now());
+        for (int i = 0; i < cursos.size(); i++) {
+            ProyeccionCurso proyeccionCurso = new ProyeccionCurso();
+            proyeccionCurso.setId(i + 1);
+            proyeccionCurso.setProyeccion(proyeccion);
+            proyeccionCurso.setCurso(cursos.get(i));
+            proyeccionCurso.setFechaAgregado(LocalDateTime.now());
+            proyeccion.getProyeccionCursos().add(proyeccionCurso);
+        }
+        return proyeccion;
+    }
+}
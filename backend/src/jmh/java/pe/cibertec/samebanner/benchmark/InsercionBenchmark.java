@@ -0,0 +1,75 @@
+package pe.cibertec.samebanner.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import pe.cibertec.samebanner.SamebannerApplication;
+import pe.cibertec.samebanner.model.Curso;
+import pe.cibertec.samebanner.repository.CursoRepository;
+
+// Alta de cursos con saveAll (una transacción por invocación) sobre H2 en memoria.
+// Mide el costo por fila del INSERT de Hibernate según cómo se generan los ids.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsercionBenchmark {
+
+    @Param({"1", "100"})
+    private int filas;
+
+    private ConfigurableApplicationContext contexto;
+    private CursoRepository cursoRepository;
+    private final Random random = new Random(7);
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SpringApplication aplicacion = new SpringApplication(SamebannerApplication.class);
+        aplicacion.setAdditionalProfiles("benchmark");
+        contexto = aplicacion.run();
+        cursoRepository = contexto.getBean(CursoRepository.class);
+    }
+
+    // Se vacía la tabla entre iteraciones para que su tamaño no influya en la medición
+    @TearDown(Level.Iteration)
+    public void vaciar() {
+        cursoRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<Curso> guardarCursos() {
+        List<Curso> cursos = new ArrayList<>(filas);
+        for (int i = 0; i < filas; i++) {
+            Curso curso = Datos.curso(++siguiente, random);
+            curso.setId(null);
+            cursos.add(curso);
+        }
+        return cursoRepository.saveAll(cursos);
+    }
+}
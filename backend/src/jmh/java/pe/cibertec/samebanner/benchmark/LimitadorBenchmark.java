@@ -0,0 +1,58 @@
+package pe.cibertec.samebanner.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pe.cibertec.samebanner.security.LimitadorPeticionesFilter;
+
+// Costo del limitador por petición con 32 hilos: todos sobre la misma cubeta o cada uno con la suya
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(32)
+@Fork(1)
+public class LimitadorBenchmark {
+
+    private LimitadorPeticionesFilter limitador;
+
+    @State(Scope.Thread)
+    public static class Cliente {
+        Integer usuarioId;
+
+        @Setup
+        public void setup() {
+            usuarioId = ThreadLocalRandom.current().nextInt(1, 1_000_000);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        // Capacidad muy alta para medir el camino normal (petición permitida)
+        limitador = new LimitadorPeticionesFilter(true,
+                "/api/auth/login=1000000000/1,/api/student/projections/**=1000000000/1,/api/**=1000000000/1", "", "", 60);
+    }
+
+    @Benchmark
+    public long mismaCubeta() {
+        return limitador.esperaRequerida("/api/student/projections", 1);
+    }
+
+    @Benchmark
+    public long cubetaPorHilo(Cliente cliente) {
+        return limitador.esperaRequerida("/api/courses", cliente.usuarioId);
+    }
+}
@@ -0,0 +1,80 @@
+package pe.cibertec.samebanner.benchmark;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import pe.cibertec.samebanner.SamebannerApplication;
+import pe.cibertec.samebanner.model.Curso;
+import pe.cibertec.samebanner.model.Proyeccion;
+import pe.cibertec.samebanner.repository.CursoRepository;
+import pe.cibertec.samebanner.service.IProyeccionService;
+
+// Guardado de una proyección con el contexto completo de Spring sobre H2 en memoria.
+// Alterna dos selecciones que comparten la mitad de los cursos, como un alumno que ajusta su horario.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProyeccionBenchmark {
+
+    private ConfigurableApplicationContext contexto;
+    private IProyeccionService proyeccionService;
+    private List<String> seleccionA;
+    private List<String> seleccionB;
+    private boolean alternar;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SpringApplication aplicacion = new SpringApplication(SamebannerApplication.class);
+        aplicacion.setAdditionalProfiles("benchmark");
+        contexto = aplicacion.run();
+        proyeccionService = contexto.getBean(IProyeccionService.class);
+
+        // Cursos en bloques horarios distintos para que ninguna selección tenga cruces
+        List<Curso> cursos = Datos.catalogo(12, 3);
+        for (int i = 0; i < cursos.size(); i++) {
+            Curso curso = cursos.get(i);
+            curso.setId(null);
+            curso.setHorarioDias(i % 2 == 0 ? "Lunes" : "Martes");
+            curso.setHoraInicio(LocalTime.of(7 + i, 0));
+            curso.setHoraFin(curso.getHoraInicio().plusMinutes(50));
+            curso.setVacantesTotales(1_000_000);
+            curso.setVacantesDisponibles(1_000_000);
+        }
+        List<String> codigos = contexto.getBean(CursoRepository.class).saveAll(cursos).stream()
+                .map(Curso::getCodigoCurso)
+                .toList();
+        seleccionA = codigos.subList(0, 8);
+        seleccionB = codigos.subList(4, 12);
+        proyeccionService.guardarProyeccion(1, "Ciclo_05", seleccionA);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Proyeccion guardarProyeccion() {
+        alternar = !alternar;
+        return proyeccionService.guardarProyeccion(1, "Ciclo_05", alternar ? seleccionB : seleccionA);
+    }
+}
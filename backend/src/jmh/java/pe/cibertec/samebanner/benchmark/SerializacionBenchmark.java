@@ -0,0 +1,76 @@
+package pe.cibertec.samebanner.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import pe.cibertec.samebanner.dto.CursoResumen;
+import pe.cibertec.samebanner.model.Curso;
+import pe.cibertec.samebanner.model.Proyeccion;
+
+// Serialización Jackson de la proyección y del listado de cursos completo vs. resumen.
+// Con "-prof gc" (activo en el perfil) se reportan los bytes asignados por operación.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacionBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Proyeccion proyeccion;
+    private List<Curso> cursos;
+    private List<CursoResumen> resumenes;
+
+    @Setup
+    public void setup() throws Exception {
+        // Misma configuración que application.properties
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+
+        List<Curso> catalogo = Datos.catalogo(200, 42);
+        proyeccion = Datos.proyeccion(catalogo.subList(0, 10));
+        cursos = catalogo;
+
+        SpelAwareProxyProjectionFactory fabrica = new SpelAwareProxyProjectionFactory();
+        resumenes = catalogo.stream().map(curso -> fabrica.createProjection(CursoResumen.class, curso)).toList();
+
+        System.out.printf("%nBytes por respuesta: proyeccion=%d cursos(full)=%d cursos(summary)=%d%n",
+                objectMapper.writeValueAsBytes(proyeccion).length,
+                objectMapper.writeValueAsBytes(cursos).length,
+                objectMapper.writeValueAsBytes(resumenes).length);
+    }
+
+    @Benchmark
+    public byte[] proyeccionConCursos() throws Exception {
+        return objectMapper.writeValueAsBytes(proyeccion);
+    }
+
+    @Benchmark
+    public byte[] listadoCursosFull() throws Exception {
+        return objectMapper.writeValueAsBytes(cursos);
+    }
+
+    @Benchmark
+    public byte[] listadoCursosSummary() throws Exception {
+        return objectMapper.writeValueAsBytes(resumenes);
+    }
+}
@@ -0,0 +1,59 @@
+package pe.cibertec.samebanner.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import pe.cibertec.samebanner.security.JWTAuthorizationFilter;
+import pe.cibertec.samebanner.util.Token;
+
+// Costo por petición de emitir y verificar el JWT, con y sin la cache de tokens verificados
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenBenchmark {
+
+    private String token;
+    private JWTAuthorizationFilter filtroSinCache;
+    private JWTAuthorizationFilter filtroConCache;
+
+    @Setup
+    public void setup() {
+        token = Token.crearToken(1, "alumno@cibertec.edu.pe", "alumno@cibertec.edu.pe", "estudiante");
+        filtroSinCache = new JWTAuthorizationFilter(0);
+        filtroConCache = new JWTAuthorizationFilter(10_000);
+    }
+
+    @Benchmark
+    public String crearToken() {
+        return Token.crearToken(1, "alumno@cibertec.edu.pe", "alumno@cibertec.edu.pe", "estudiante");
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken getAuth() {
+        return Token.getAuth(token);
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken autenticarSinCache() {
+        return filtroSinCache.autenticar(token);
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken autenticarConCache() {
+        return filtroConCache.autenticar(token);
+    }
+}
@@ -0,0 +1,33 @@
+package pe.cibertec.samebanner.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// En el paquete del controlador para acceder a validarFormatoCiclo
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CicloBenchmark {
+
+    // Formato canónico, número suelto y texto libre
+    @Param({"Ciclo_05", "5", "ciclo 5"})
+    private String ciclo;
+
+    @Benchmark
+    public String validarFormatoCiclo() {
+        return ProyeccionController.validarFormatoCiclo(ciclo);
+    }
+}
@@ -2,8 +2,10 @@ package pe.cibertec.samebanner;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SamebannerApplication {
     public static void main(String[] args) {
         SpringApplication.run(SamebannerApplication.class, args);
@@ -0,0 +1,142 @@
+package pe.cibertec.samebanner.config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import pe.cibertec.samebanner.util.ContadorConsultas;
+
+/**
+ * Mide las sentencias SQL de cada petición con {@link ContadorConsultas}. El número de
+ * sentencias por ruta se publica en samebanner.sql.consultas y se registra una advertencia
+ * cuando una petición supera samebanner.consultas.umbral-advertencia (síntoma típico de un N+1).
+ *
+ * Con samebanner.consultas.cabeceras (perfil dev) la respuesta lleva X-SQL-Consultas y
+ * Server-Timing. Para que las cabeceras incluyan todas las consultas, el cuerpo se guarda en
+ * memoria hasta terminar la petición; por eso no se activa en producción. Las rutas de
+ * samebanner.consultas.rutas-sin-buffer (descargas que se escriben por partes, cuerpos ya
+ * serializados o comprimidos) no se guardan en memoria: no llevan las cabeceras y el número de
+ * sentencias se escribe en el log.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class ConsultasPorPeticionFilter extends OncePerRequestFilter {
+
+    public static final String CABECERA_CONSULTAS = "X-SQL-Consultas";
+    public static final String CABECERA_TIEMPOS = "Server-Timing";
+
+    private static final Logger log = LoggerFactory.getLogger(ConsultasPorPeticionFilter.class);
+
+    private final ContadorConsultas contadorConsultas;
+    private final MeterRegistry meterRegistry;
+    private final boolean habilitado;
+    private final boolean cabeceras;
+    private final int umbralAdvertencia;
+    private final List<PathPattern> rutasSinBuffer;
+
+    public ConsultasPorPeticionFilter(ContadorConsultas contadorConsultas, MeterRegistry meterRegistry,
+            @Value("${samebanner.consultas.habilitado:true}") boolean habilitado,
+            @Value("${samebanner.consultas.cabeceras:false}") boolean cabeceras,
+            @Value("${samebanner.consultas.umbral-advertencia:25}") int umbralAdvertencia,
+            @Value("${samebanner.consultas.rutas-sin-buffer:}") String rutasSinBuffer) {
+        this.contadorConsultas = contadorConsultas;
+        this.meterRegistry = meterRegistry;
+        this.habilitado = habilitado;
+        this.cabeceras = cabeceras;
+        this.umbralAdvertencia = umbralAdvertencia;
+        this.rutasSinBuffer = parsearRutas(rutasSinBuffer);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !habilitado;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean sinBuffer = cabeceras && esRutaSinBuffer(request);
+        HttpServletResponse respuesta = cabeceras && !sinBuffer ? new ContentCachingResponseWrapper(response) : response;
+        contadorConsultas.iniciar();
+        try {
+            filterChain.doFilter(request, respuesta);
+        } finally {
+            ContadorConsultas.Medicion medicion = contadorConsultas.terminar();
+            registrar(request, medicion);
+            if (sinBuffer) {
+                // El cuerpo ya salió hacia el cliente; en desarrollo el número queda al menos en el log
+                log.info("{} {} ejecutó {} consultas SQL en {} ms (sin cabeceras, la respuesta no se guarda en memoria)",
+                        request.getMethod(), request.getRequestURI(), medicion.getConsultas(),
+                        String.format(Locale.ROOT, "%.1f", medicion.getMilisegundos()));
+            } else if (respuesta instanceof ContentCachingResponseWrapper envoltura) {
+                envoltura.setHeader(CABECERA_CONSULTAS, String.valueOf(medicion.getConsultas()));
+                envoltura.setHeader(CABECERA_TIEMPOS, String.format(Locale.ROOT, "db;dur=%.1f;desc=\"%d consultas SQL\"",
+                        medicion.getMilisegundos(), medicion.getConsultas()));
+                envoltura.copyBodyToResponse();
+            }
+        }
+    }
+
+    private boolean esRutaSinBuffer(HttpServletRequest request) {
+        PathContainer camino = PathContainer.parsePath(request.getRequestURI());
+        for (PathPattern patron : rutasSinBuffer) {
+            if (patron.matches(camino)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void registrar(HttpServletRequest request, ContadorConsultas.Medicion medicion) {
+        // El patrón de la ruta (/api/courses/{id}) y no la URI, para no crear una serie por cada id
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String ruta = patron != null ? patron.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("samebanner.sql.consultas")
+                .description("Sentencias SQL ejecutadas por petición HTTP")
+                .tag("method", request.getMethod())
+                .tag("uri", ruta)
+                .register(meterRegistry)
+                .record(medicion.getConsultas());
+
+        if (medicion.getConsultas() > umbralAdvertencia) {
+            log.warn("{} {} ejecutó {} consultas SQL en {} ms (umbral {})", request.getMethod(),
+                    patron != null ? ruta : request.getRequestURI(), medicion.getConsultas(),
+                    String.format(Locale.ROOT, "%.1f", medicion.getMilisegundos()), umbralAdvertencia);
+        }
+    }
+
+    // Patrones separados por comas, con la misma sintaxis que las rutas de los controladores
+    private static List<PathPattern> parsearRutas(String texto) {
+        List<PathPattern> rutas = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return rutas;
+        }
+        for (String ruta : texto.split(",")) {
+            if (!ruta.isBlank()) {
+                rutas.add(PathPatternParser.defaultInstance.parse(ruta.trim()));
+            }
+        }
+        return List.copyOf(rutas);
+    }
+}
@@ -6,18 +6,20 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import pe.cibertec.samebanner.dto.EstadisticasCacheDTO;
 import pe.cibertec.samebanner.model.Usuario;
-import pe.cibertec.samebanner.repository.UsuarioRepository;
+import pe.cibertec.samebanner.service.IUsuarioService;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
-    private final UsuarioRepository usuarioRepository;
+    private final IUsuarioService usuarioService;
 
-    public AuthController(UsuarioRepository usuarioRepository) {
-        this.usuarioRepository = usuarioRepository;
+    public AuthController(IUsuarioService usuarioService) {
+        this.usuarioService = usuarioService;
     }
 
     @GetMapping("/me")
@@ -29,8 +31,13 @@ public class AuthController {
             return ResponseEntity.status(401).body(response);
         }
 
-        Usuario usuario = usuarioRepository.findOneByEmail(authentication.getName())
-            .orElse(null);
+        Usuario usuario;
+        try {
+            usuario = usuarioService.obtenerPerfil(usuarioService.obtenerIdUsuario(authentication))
+                .orElse(null);
+        } catch (RuntimeException e) {
+            usuario = null;
+        }
 
         if (usuario == null) {
             Map<String, String> response = new HashMap<>();
@@ -40,4 +47,10 @@ public class AuthController {
 
         return ResponseEntity.ok(usuario);
     }
+
+    // Los aciertos de "usuarios" y "emailsDesconocidos" son consultas por email evitadas en /login
+    @GetMapping("/cache/stats")
+    public List<EstadisticasCacheDTO> getEstadisticasCache() {
+        return usuarioService.estadisticasCache();
+    }
 }
@@ -4,14 +4,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 
 import pe.cibertec.samebanner.model.Carrera;
 import pe.cibertec.samebanner.repository.CarreraRepository;
 import pe.cibertec.samebanner.service.ICarreraService;
 import pe.cibertec.samebanner.serviceImplement.CarreraServiceImplement;
+import pe.cibertec.samebanner.util.CatalogoSerializado;
+import pe.cibertec.samebanner.util.VersionesCatalogo;
+import pe.cibertec.samebanner.util.VersionesCatalogo.Tabla;
 
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -21,17 +24,27 @@ public class CarreraController {
 	@Autowired
 	private ICarreraService service; 
 
+	@Autowired
+	private VersionesCatalogo versionesCatalogo;
+
+	@Autowired
+	private CatalogoSerializado catalogoSerializado;
+
     
     @GetMapping
-    public ResponseEntity<List<Carrera>> listar() {
+    public ResponseEntity<byte[]> listar(@RequestParam(defaultValue = "full") String fields, WebRequest webRequest) {
         try {
-            List<Carrera> carreras = service.listaCompletaCarrera();
+            // "summary" devuelve solo las columnas de los listados; el JSON se arma una vez por versión
+            CatalogoSerializado.Cuerpo carreras = catalogoSerializado.obtener(Tabla.CARRERAS, fields,
+                    () -> "summary".equalsIgnoreCase(fields)
+                            ? service.listaResumenCarrera()
+                            : service.listaCompletaCarrera());
 
-            if (carreras.isEmpty()) {
+            if (carreras.vacio()) {
                 
                 return ResponseEntity.notFound().build();
             } else {
-                return ResponseEntity.ok(carreras); 
+                return catalogoSerializado.responder(carreras, webRequest); 
             }
         } catch (Exception e) {
            
@@ -41,10 +54,18 @@ public class CarreraController {
 
    
     @GetMapping("/{id}")
-    public ResponseEntity<Carrera> getCarrera(@PathVariable Integer id) {
+    public ResponseEntity<Carrera> getCarrera(@PathVariable Integer id, WebRequest webRequest) {
+        String etag = versionesCatalogo.etag(Tabla.CARRERAS);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(versionesCatalogo.cacheControl(Tabla.CARRERAS)).build();
+        }
         try {
             Carrera carrera = service.buscarCarreraPorId(id);
-            return ResponseEntity.ok(carrera); 
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(versionesCatalogo.cacheControl(Tabla.CARRERAS))
+                    .body(carrera); 
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build(); 
         }
@@ -1,48 +1,127 @@
 package pe.cibertec.samebanner.controller;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import pe.cibertec.samebanner.dto.CursoVacantes;
+import pe.cibertec.samebanner.dto.EstadisticasCacheDTO;
+import pe.cibertec.samebanner.dto.FiltroCursoDTO;
+import pe.cibertec.samebanner.dto.PaginaDTO;
 import pe.cibertec.samebanner.model.Curso;
-import pe.cibertec.samebanner.repository.CursoRepository;
+import pe.cibertec.samebanner.service.ICursoService;
+import pe.cibertec.samebanner.util.VersionesCatalogo;
+import pe.cibertec.samebanner.util.VersionesCatalogo.Tabla;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/courses")
 public class CursoController {
-    private final CursoRepository cursoRepository;
+    private final ICursoService cursoService;
+    private final VersionesCatalogo versionesCatalogo;
 
-    public CursoController(CursoRepository cursoRepository) {
-        this.cursoRepository = cursoRepository;
+    public CursoController(ICursoService cursoService, VersionesCatalogo versionesCatalogo) {
+        this.cursoService = cursoService;
+        this.versionesCatalogo = versionesCatalogo;
     }
 
     @GetMapping
-    public List<Curso> getCursos(
+    public ResponseEntity<List<?>> getCursos(
+            @RequestParam(required = false) Integer careerId,
+            @RequestParam(required = false) String cycle,
+            @RequestParam(defaultValue = "full") String fields,
+            WebRequest webRequest) {
+        // El ETag sale de la versión de la tabla: con If-None-Match vigente no se lee la cache ni la base de datos
+        String etag = versionesCatalogo.etag(Tabla.CURSOS);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(versionesCatalogo.cacheControl(Tabla.CURSOS)).build();
+        }
+
+        // "summary" devuelve solo las columnas de los listados
+        List<?> cursos = "summary".equalsIgnoreCase(fields)
+                ? cursoService.listarResumenCursos(careerId, cycle)
+                : cursoService.listarCursos(careerId, cycle);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(versionesCatalogo.cacheControl(Tabla.CURSOS))
+                .body(cursos);
+    }
+
+    // Vacantes disponibles de cada curso: cambian con cada reserva, por eso no forman parte del
+    // listado de arriba ni de su ETag; se releen de la base como mucho una vez por intervalo
+    @GetMapping("/seats")
+    public List<CursoVacantes> getVacantes(
             @RequestParam(required = false) Integer careerId,
             @RequestParam(required = false) String cycle) {
-        if (careerId != null && cycle != null) {
-            return cursoRepository.findByCarreraIdAndCiclo(careerId, cycle);
+        return cursoService.listarVacantes(careerId, cycle);
+    }
+
+    // Listado paginado por keyset; se activa al enviar "limit" para no romper a los clientes actuales
+    @GetMapping(params = "limit")
+    public ResponseEntity<?> getCursosPaginados(
+            @RequestParam(required = false) Integer careerId,
+            @RequestParam(required = false) String cycle,
+            @RequestParam(required = false) String sede,
+            @RequestParam(required = false) String turno,
+            @RequestParam(required = false) String modalidad,
+            @RequestParam(required = false) String areaConocimiento,
+            @RequestParam(required = false) Integer docenteId,
+            @RequestParam(required = false) Boolean activo,
+            @RequestParam(defaultValue = "codigoCurso") String sort,
+            @RequestParam(defaultValue = "asc") String dir,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        FiltroCursoDTO filtro = new FiltroCursoDTO();
+        filtro.setCarreraId(careerId);
+        filtro.setCiclo(cycle);
+        filtro.setSede(sede);
+        filtro.setTurno(turno);
+        filtro.setModalidad(modalidad);
+        filtro.setAreaConocimiento(areaConocimiento);
+        filtro.setDocenteId(docenteId);
+        filtro.setActivo(activo);
+        filtro.setOrden(sort);
+        filtro.setDescendente("desc".equalsIgnoreCase(dir));
+        filtro.setLimite(limit);
+        try {
+            PaginaDTO<Curso> pagina = cursoService.listarPagina(filtro, cursor);
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
-        return cursoRepository.findAll();
     }
 
     @GetMapping("/{id}")
     public Curso getCurso(@PathVariable Integer id) {
-        return cursoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Curso no encontrado"));
+        return cursoService.buscarCursoPorId(id);
+    }
+
+    @GetMapping("/cache/stats")
+    public List<EstadisticasCacheDTO> getEstadisticasCache() {
+        return cursoService.estadisticasCache();
     }
 
     @PostMapping
-    public Curso createCurso(@RequestBody Curso curso) {
-        return cursoRepository.save(curso);
+    public ResponseEntity<?> createCurso(@RequestBody Curso curso) {
+        try {
+            return ResponseEntity.ok(cursoService.guardarCurso(curso));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
 
     @PutMapping("/{id}")
-    public Curso updateCurso(@PathVariable Integer id, @RequestBody Curso curso) {
-        curso.setId(id);
-        return cursoRepository.save(curso);
+    public ResponseEntity<?> updateCurso(@PathVariable Integer id, @RequestBody Curso curso) {
+        try {
+            return ResponseEntity.ok(cursoService.actualizarCurso(id, curso));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
 
     @DeleteMapping("/{id}")
     public void deleteCurso(@PathVariable Integer id) {
-        cursoRepository.deleteById(id);
+        cursoService.eliminarCurso(id);
     }
 }
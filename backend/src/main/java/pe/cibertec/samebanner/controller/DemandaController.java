@@ -0,0 +1,62 @@
+package pe.cibertec.samebanner.controller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import pe.cibertec.samebanner.dto.DemandaCursoDTO;
+import pe.cibertec.samebanner.dto.DiferenciaDemandaDTO;
+import pe.cibertec.samebanner.service.IDemandaService;
+
+@RestController
+@RequestMapping("/api/admin/demand")
+public class DemandaController {
+
+    private final IDemandaService demandaService;
+
+    public DemandaController(IDemandaService demandaService) {
+        this.demandaService = demandaService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<DemandaCursoDTO>> listarDemanda() {
+        try {
+            return ResponseEntity.ok(demandaService.listarDemanda());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Compara los contadores con el COUNT(*) de proyeccion_cursos; no corrige nada
+    @GetMapping("/check")
+    public ResponseEntity<?> verificar() {
+        try {
+            List<DiferenciaDemandaDTO> diferencias = demandaService.verificar();
+            Map<String, Object> respuesta = new HashMap<>();
+            respuesta.put("consistente", diferencias.isEmpty());
+            respuesta.put("diferencias", diferencias);
+            return ResponseEntity.ok(respuesta);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error al verificar la demanda: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> reconstruir() {
+        try {
+            demandaService.reconstruir();
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error al reconstruir la demanda: " + e.getMessage());
+        }
+    }
+}
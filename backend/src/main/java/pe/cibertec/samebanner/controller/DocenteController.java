@@ -1,27 +1,52 @@
 package pe.cibertec.samebanner.controller;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import pe.cibertec.samebanner.dto.DocenteResumen;
 import pe.cibertec.samebanner.model.Docente;
 import pe.cibertec.samebanner.repository.DocenteRepository;
-import java.util.List;
+import pe.cibertec.samebanner.util.CatalogoSerializado;
+import pe.cibertec.samebanner.util.VersionesCatalogo;
+import pe.cibertec.samebanner.util.VersionesCatalogo.Tabla;
 
 @RestController
 @RequestMapping("/api/teachers")
 public class DocenteController {
     private final DocenteRepository docenteRepository;
+    private final VersionesCatalogo versionesCatalogo;
+    private final CatalogoSerializado catalogoSerializado;
 
-    public DocenteController(DocenteRepository docenteRepository) {
+    public DocenteController(DocenteRepository docenteRepository, VersionesCatalogo versionesCatalogo,
+            CatalogoSerializado catalogoSerializado) {
         this.docenteRepository = docenteRepository;
+        this.versionesCatalogo = versionesCatalogo;
+        this.catalogoSerializado = catalogoSerializado;
     }
 
+    // La API no modifica docentes: el ETag cambia cuando un cambio manual incrementa versiones_catalogo
     @GetMapping("/{id}")
-    public Docente getDocente(@PathVariable Integer id) {
-        return docenteRepository.findById(id)
-                .orElse(null);
+    public ResponseEntity<Docente> getDocente(@PathVariable Integer id, WebRequest webRequest) {
+        String etag = versionesCatalogo.etag(Tabla.DOCENTES);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(versionesCatalogo.cacheControl(Tabla.DOCENTES)).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(versionesCatalogo.cacheControl(Tabla.DOCENTES))
+                .body(docenteRepository.findById(id).orElse(null));
     }
 
     @GetMapping
-    public List<Docente> getDocentes() {
-        return docenteRepository.findAll();
+    public ResponseEntity<byte[]> getDocentes(@RequestParam(defaultValue = "full") String fields,
+            WebRequest webRequest) {
+        // "summary" devuelve solo las columnas de los listados; el JSON se arma una vez por versión
+        CatalogoSerializado.Cuerpo docentes = catalogoSerializado.obtener(Tabla.DOCENTES, fields,
+                () -> "summary".equalsIgnoreCase(fields)
+                        ? docenteRepository.findAllResumen()
+                        : docenteRepository.findAll());
+        return catalogoSerializado.responder(docentes, webRequest);
     }
 }
@@ -0,0 +1,70 @@
+package pe.cibertec.samebanner.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletResponse;
+import pe.cibertec.samebanner.service.IExportacionService;
+import pe.cibertec.samebanner.util.FormatoExportacion;
+
+// Descargas para administración; se escriben en el hilo de la petición, sin el timeout de las respuestas asíncronas
+@RestController
+@RequestMapping("/api/admin/export")
+public class ExportacionController {
+
+    @FunctionalInterface
+    private interface Exportacion {
+        void escribir(FormatoExportacion formato, OutputStream salida) throws IOException;
+    }
+
+    private final IExportacionService exportacionService;
+
+    public ExportacionController(IExportacionService exportacionService) {
+        this.exportacionService = exportacionService;
+    }
+
+    @GetMapping("/courses")
+    public void exportarCursos(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response)
+            throws IOException {
+        exportar("cursos", format, response, exportacionService::exportarCursos);
+    }
+
+    @GetMapping("/projections")
+    public void exportarProyecciones(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response)
+            throws IOException {
+        exportar("proyecciones", format, response, exportacionService::exportarProyecciones);
+    }
+
+    @GetMapping("/demand")
+    public void exportarDemanda(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response)
+            throws IOException {
+        exportar("demanda", format, response, exportacionService::exportarDemanda);
+    }
+
+    private static void exportar(String nombre, String format, HttpServletResponse response, Exportacion exportacion)
+            throws IOException {
+        FormatoExportacion formato;
+        try {
+            formato = FormatoExportacion.de(format);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Formato no soportado, use ndjson o csv\"}");
+            return;
+        }
+
+        response.setContentType(formato.getTipoContenido());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + nombre + "-" + LocalDate.now() + "." + formato.getExtension() + "\"");
+        exportacion.escribir(formato, response.getOutputStream());
+    }
+}
@@ -0,0 +1,61 @@
+package pe.cibertec.samebanner.controller;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletRequest;
+import pe.cibertec.samebanner.dto.ResultadoImportacionDTO;
+import pe.cibertec.samebanner.service.IImportacionService;
+import pe.cibertec.samebanner.util.FormatoExportacion;
+
+// Cargas masivas para administración; el cuerpo se lee como flujo, sin armarlo completo en memoria
+@RestController
+@RequestMapping("/api/admin/import")
+public class ImportacionController {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacionController.class);
+
+    private final IImportacionService importacionService;
+
+    public ImportacionController(IImportacionService importacionService) {
+        this.importacionService = importacionService;
+    }
+
+    @PostMapping("/courses")
+    public ResponseEntity<?> importarCursos(@RequestParam(required = false) String format, HttpServletRequest request) {
+        FormatoExportacion formato;
+        try {
+            formato = FormatoExportacion.de(format != null ? format : formatoDe(request.getContentType()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Formato no soportado, use ndjson o csv"));
+        }
+
+        try {
+            ResultadoImportacionDTO resultado = importacionService.importarCursos(formato, request.getInputStream());
+            return ResponseEntity.ok(resultado);
+        } catch (IOException e) {
+            log.warn("Error al leer el archivo de importación: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", "No se pudo leer el archivo"));
+        } catch (Exception e) {
+            log.error("Error al importar cursos", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Sin parámetro format se decide por Content-Type: application/x-ndjson o JSON es NDJSON, lo demás CSV
+    private static String formatoDe(String tipoContenido) {
+        if (tipoContenido != null && (tipoContenido.contains("ndjson") || tipoContenido.contains("json"))) {
+            return "ndjson";
+        }
+        return "csv";
+    }
+}
@@ -0,0 +1,25 @@
+package pe.cibertec.samebanner.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import pe.cibertec.samebanner.dto.EstadisticasPoolDTO;
+import pe.cibertec.samebanner.util.MetricasPool;
+
+@RestController
+@RequestMapping("/api/admin/pool")
+public class PoolController {
+
+    private final MetricasPool metricasPool;
+
+    public PoolController(MetricasPool metricasPool) {
+        this.metricasPool = metricasPool;
+    }
+
+    // Conexiones en uso, hilos esperando y distribución de los tiempos de espera desde el arranque
+    @GetMapping("/stats")
+    public EstadisticasPoolDTO getEstadisticas() {
+        return metricasPool.estadisticas();
+    }
+}
@@ -2,51 +2,51 @@ package pe.cibertec.samebanner.controller;
 
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
+import pe.cibertec.samebanner.dto.ConflictoHorarioDTO;
+import pe.cibertec.samebanner.exception.ConflictoHorarioException;
+import pe.cibertec.samebanner.exception.SinVacantesException;
 import pe.cibertec.samebanner.model.Proyeccion;
-import pe.cibertec.samebanner.model.ProyeccionCurso;
-import pe.cibertec.samebanner.model.Curso;
-import pe.cibertec.samebanner.repository.ProyeccionRepository;
-import pe.cibertec.samebanner.repository.ProyeccionCursoRepository;
-import pe.cibertec.samebanner.repository.CursoRepository;
-import pe.cibertec.samebanner.repository.UsuarioRepository;
+import pe.cibertec.samebanner.model.VistaProyeccion;
+import pe.cibertec.samebanner.service.IConflictoHorarioService;
+import pe.cibertec.samebanner.service.IProyeccionService;
+import pe.cibertec.samebanner.service.IUsuarioService;
+import pe.cibertec.samebanner.service.IVistaProyeccionService;
 import org.springframework.security.core.Authentication;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping(value = "/api/student/projections", produces = MediaType.APPLICATION_JSON_VALUE)
 public class ProyeccionController {
-    private final ProyeccionRepository proyeccionRepository;
-    private final ProyeccionCursoRepository proyeccionCursoRepository;
-    private final CursoRepository cursoRepository;
-    private final UsuarioRepository usuarioRepository;
+    private final IProyeccionService proyeccionService;
+    private final IUsuarioService usuarioService;
+    private final IConflictoHorarioService conflictoHorarioService;
+    private final IVistaProyeccionService vistaProyeccionService;
 
     public ProyeccionController(
-            ProyeccionRepository proyeccionRepository,
-            ProyeccionCursoRepository proyeccionCursoRepository,
-            CursoRepository cursoRepository,
-            UsuarioRepository usuarioRepository) {
-        this.proyeccionRepository = proyeccionRepository;
-        this.proyeccionCursoRepository = proyeccionCursoRepository;
-        this.cursoRepository = cursoRepository;
-        this.usuarioRepository = usuarioRepository;
+            IProyeccionService proyeccionService,
+            IUsuarioService usuarioService,
+            IConflictoHorarioService conflictoHorarioService,
+            IVistaProyeccionService vistaProyeccionService) {
+        this.proyeccionService = proyeccionService;
+        this.usuarioService = usuarioService;
+        this.conflictoHorarioService = conflictoHorarioService;
+        this.vistaProyeccionService = vistaProyeccionService;
     }
 
     @GetMapping
     public ResponseEntity<?> getProyeccion(Authentication authentication) {
         try {
-            Integer usuarioId = usuarioRepository.findOneByEmail(authentication.getName())
-                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"))
-                    .getId();
+            Integer usuarioId = usuarioService.obtenerIdUsuario(authentication);
 
-            Optional<Proyeccion> proyeccion = proyeccionRepository.findByUsuarioId(usuarioId);
+            Optional<Proyeccion> proyeccion = proyeccionService.obtenerProyeccion(usuarioId);
             return proyeccion.map(ResponseEntity::ok)
                             .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
@@ -55,45 +55,48 @@ public class ProyeccionController {
         }
     }
 
+    // Documento ya armado para el dashboard; con If-None-Match igual al ETag responde 304 sin cuerpo
+    @GetMapping("/view")
+    public ResponseEntity<?> getVistaProyeccion(Authentication authentication, WebRequest webRequest) {
+        try {
+            Integer usuarioId = usuarioService.obtenerIdUsuario(authentication);
+
+            Optional<VistaProyeccion> vista = vistaProyeccionService.obtenerVista(usuarioId);
+            if (vista.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (webRequest.checkNotModified(vista.get().getEtag())) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .eTag(vista.get().getEtag())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(vista.get().getDocumento());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error al obtener la vista de la proyección: " + e.getMessage());
+        }
+    }
+
     @PostMapping
-    @Transactional
     public ResponseEntity<?> createProyeccion(@RequestBody ProyeccionRequest request, Authentication authentication) {
         try {
             String cicloProyectado = validarFormatoCiclo(request.getCicloProyectado());
 
-            Integer usuarioId = usuarioRepository.findOneByEmail(authentication.getName())
-                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"))
-                    .getId();
-
-            // Eliminar proyección existente
-            proyeccionRepository.findByUsuarioId(usuarioId).ifPresent(existingProyeccion -> {
-                proyeccionCursoRepository.deleteByProyeccion(existingProyeccion);
-                proyeccionRepository.delete(existingProyeccion);
-                proyeccionRepository.flush();
-            });
-
-            // Crear nueva proyección
-            Proyeccion proyeccion = new Proyeccion();
-            proyeccion.setUsuarioId(usuarioId);
-            proyeccion.setCicloProyectado(cicloProyectado);
-            proyeccion = proyeccionRepository.save(proyeccion);
-
-            // Agregar cursos
-            for (String codigoCurso : request.getCodigosCursos()) {
-                Curso curso = cursoRepository.findByCodigoCurso(codigoCurso)
-                        .orElseThrow(() -> new RuntimeException("Curso no encontrado: " + codigoCurso));
-
-                ProyeccionCurso proyeccionCurso = new ProyeccionCurso();
-                proyeccionCurso.setProyeccion(proyeccion);
-                proyeccionCurso.setCurso(curso);
-                proyeccionCursoRepository.save(proyeccionCurso);
-            }
+            Integer usuarioId = usuarioService.obtenerIdUsuario(authentication);
 
-            // Recargar la proyección para obtener los cursos
-            Proyeccion proyeccionCompleta = proyeccionRepository.findById(proyeccion.getId())
-                    .orElseThrow(() -> new RuntimeException("Error al recargar la proyección"));
+            // Solo se insertan los cursos agregados y se eliminan los retirados
+            Proyeccion proyeccion = proyeccionService.guardarProyeccion(
+                    usuarioId, cicloProyectado, request.getCodigosCursos());
 
-            return ResponseEntity.ok(proyeccionCompleta);
+            return ResponseEntity.ok(proyeccion);
+        } catch (ConflictoHorarioException e) {
+            return respuestaConflicto(e);
+        } catch (SinVacantesException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", e.getMessage());
+            response.put("cursosSinVacantes", e.getCodigosCursos());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
         } catch (DataIntegrityViolationException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body("Error de integridad de datos: " + e.getMessage());
@@ -103,7 +106,55 @@ public class ProyeccionController {
         }
     }
 
-    private String validarFormatoCiclo(String ciclo) {
+    @PatchMapping
+    public ResponseEntity<?> updateProyeccion(@RequestBody ProyeccionCambiosRequest request, Authentication authentication) {
+        try {
+            String cicloProyectado = request.getCicloProyectado() != null
+                    ? validarFormatoCiclo(request.getCicloProyectado())
+                    : null;
+
+            Integer usuarioId = usuarioService.obtenerIdUsuario(authentication);
+
+            Optional<Proyeccion> proyeccion = proyeccionService.modificarProyeccion(
+                    usuarioId, cicloProyectado, request.getAgregar(), request.getQuitar());
+            return proyeccion.map(ResponseEntity::ok)
+                            .orElse(ResponseEntity.notFound().build());
+        } catch (ConflictoHorarioException e) {
+            return respuestaConflicto(e);
+        } catch (SinVacantesException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", e.getMessage());
+            response.put("cursosSinVacantes", e.getCodigosCursos());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Error de integridad de datos: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error al modificar la proyección: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/conflicts")
+    public ResponseEntity<?> getConflictos(@RequestBody ProyeccionRequest request) {
+        try {
+            List<String> codigos = request.getCodigosCursos() != null ? request.getCodigosCursos() : List.of();
+            List<ConflictoHorarioDTO> conflictos = conflictoHorarioService.detectarConflictosPorCodigo(codigos);
+            return ResponseEntity.ok(conflictos);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Error al revisar el horario: " + e.getMessage());
+        }
+    }
+
+    private ResponseEntity<?> respuestaConflicto(ConflictoHorarioException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", e.getMessage());
+        response.put("conflictos", e.getConflictos());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    static String validarFormatoCiclo(String ciclo) {
         if (ciclo == null || ciclo.trim().isEmpty()) {
             throw new IllegalArgumentException("El ciclo no puede estar vacío");
         }
@@ -149,3 +200,33 @@ class ProyeccionRequest {
         this.codigosCursos = codigosCursos;
     }
 }
+
+class ProyeccionCambiosRequest {
+    private String cicloProyectado;
+    private List<String> agregar;
+    private List<String> quitar;
+
+    public String getCicloProyectado() {
+        return cicloProyectado;
+    }
+
+    public void setCicloProyectado(String cicloProyectado) {
+        this.cicloProyectado = cicloProyectado;
+    }
+
+    public List<String> getAgregar() {
+        return agregar;
+    }
+
+    public void setAgregar(List<String> agregar) {
+        this.agregar = agregar;
+    }
+
+    public List<String> getQuitar() {
+        return quitar;
+    }
+
+    public void setQuitar(List<String> quitar) {
+        this.quitar = quitar;
+    }
+}
@@ -3,9 +3,13 @@ package pe.cibertec.samebanner.controller;
 
 import lombok.AllArgsConstructor;
 import pe.cibertec.samebanner.dto.UsuarioRegistroDTO;
+import pe.cibertec.samebanner.exception.ServicioSaturadoException;
 import pe.cibertec.samebanner.model.Usuario;
 import pe.cibertec.samebanner.service.IUsuarioService;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -20,6 +24,8 @@ import org.springframework.web.bind.annotation.RestController;
 @AllArgsConstructor 
 public class UsuarioController {
 
+    private static final Logger log = LoggerFactory.getLogger(UsuarioController.class);
+
     private final IUsuarioService usuarioService; 
 
     @PostMapping 
@@ -28,9 +34,13 @@ public class UsuarioController {
             Usuario nuevoUsuario = usuarioService.registrarUsuario(registroDTO);
             
             return new ResponseEntity<>(nuevoUsuario, HttpStatus.CREATED); // Retorna 201 Created
+        } catch (ServicioSaturadoException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getReintentarEnSegundos()))
+                    .build();
         } catch (RuntimeException e) {
             
-            System.err.println("Error al registrar usuario: " + e.getMessage()); 
+            log.warn("Error al registrar usuario: {}", e.getMessage());
             return new ResponseEntity<>(null, HttpStatus.CONFLICT); 
         }
     }
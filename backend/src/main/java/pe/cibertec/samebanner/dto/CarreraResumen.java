@@ -0,0 +1,10 @@
+package pe.cibertec.samebanner.dto;
+
+// Proyección de solo lectura con las columnas que usan los listados de carreras
+public interface CarreraResumen {
+    Integer getId();
+    String getCodigoCarrera();
+    String getNombre();
+    Integer getDuracionCiclos();
+    Boolean getActiva();
+}
@@ -0,0 +1,18 @@
+package pe.cibertec.samebanner.dto;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ConflictoHorarioDTO {
+    private String codigoCurso;
+    private String codigoCursoConflicto;
+    private List<String> dias;
+    // Tramo en el que ambos cursos se solapan
+    private LocalTime desde;
+    private LocalTime hasta;
+}
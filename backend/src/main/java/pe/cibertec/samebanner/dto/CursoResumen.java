@@ -0,0 +1,24 @@
+package pe.cibertec.samebanner.dto;
+
+import java.time.LocalTime;
+
+// Proyección de solo lectura con las columnas que usan los listados de cursos; las vacantes
+// disponibles van aparte (CursoVacantes) para que las reservas no cambien el catálogo
+public interface CursoResumen {
+    Integer getId();
+    String getCodigoCurso();
+    String getNombre();
+    Integer getCreditos();
+    String getCiclo();
+    Integer getCarreraId();
+    String getModalidad();
+    String getSede();
+    String getTurno();
+    Integer getVacantesTotales();
+    Integer getDocenteId();
+    String getHorarioDias();
+    LocalTime getHoraInicio();
+    LocalTime getHoraFin();
+    String getAula();
+    Boolean getActivo();
+}
@@ -0,0 +1,9 @@
+package pe.cibertec.samebanner.dto;
+
+// Proyección de solo lectura con las vacantes de cada curso, fuera del catálogo y de su ETag
+public interface CursoVacantes {
+    Integer getId();
+    Integer getCarreraId();
+    String getCiclo();
+    Integer getVacantesDisponibles();
+}
@@ -0,0 +1,24 @@
+package pe.cibertec.samebanner.dto;
+
+import java.time.LocalTime;
+
+import lombok.Data;
+
+@Data
+public class CursoVistaDTO {
+    private Integer id;
+    private String codigoCurso;
+    private String nombre;
+    private Integer creditos;
+    private String modalidad;
+    private String sede;
+    private String turno;
+    private String aula;
+    private String enlaceVirtual;
+    private String horarioDias;
+    private LocalTime horaInicio;
+    private LocalTime horaFin;
+    private Integer docenteId;
+    // "Nombre Apellido" del docente, para no consultar /api/teachers por cada curso
+    private String docente;
+}
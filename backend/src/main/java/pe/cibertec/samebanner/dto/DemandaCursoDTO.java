@@ -0,0 +1,16 @@
+package pe.cibertec.samebanner.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DemandaCursoDTO {
+    private Integer cursoId;
+    private String codigoCurso;
+    private String nombre;
+    private String ciclo;
+    private Integer carreraId;
+    private Integer vacantesTotales;
+    private long proyectados;
+}
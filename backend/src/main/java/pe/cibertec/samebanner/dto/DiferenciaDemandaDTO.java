@@ -0,0 +1,13 @@
+package pe.cibertec.samebanner.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Curso cuyo contador no coincide con el COUNT(*) de proyeccion_cursos
+@Data
+@AllArgsConstructor
+public class DiferenciaDemandaDTO {
+    private Integer cursoId;
+    private long contador;
+    private long real;
+}
@@ -0,0 +1,13 @@
+package pe.cibertec.samebanner.dto;
+
+// Proyección de solo lectura con las columnas que usan los listados de docentes
+public interface DocenteResumen {
+    Integer getId();
+    String getCodigo_docente();
+    String getNombre();
+    String getApellido();
+    String getEmail();
+    String getEspecialidad();
+    String getDepartamento();
+    Boolean getActivo();
+}
@@ -0,0 +1,13 @@
+package pe.cibertec.samebanner.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// fila cuenta desde 1 sin el encabezado del CSV
+@Data
+@AllArgsConstructor
+public class ErrorImportacionDTO {
+    private long fila;
+    private String codigoCurso;
+    private String mensaje;
+}
@@ -0,0 +1,15 @@
+package pe.cibertec.samebanner.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class EstadisticasCacheDTO {
+    private String nombre;
+    private int entradas;
+    private int maxEntradas;
+    private long aciertos;
+    private long fallos;
+    private long desalojos;
+}
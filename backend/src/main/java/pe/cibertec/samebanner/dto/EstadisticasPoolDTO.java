@@ -0,0 +1,26 @@
+package pe.cibertec.samebanner.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class EstadisticasPoolDTO {
+    private String nombre;
+    private int maximo;
+    private int activas;
+    private int inactivas;
+    private int esperando;
+    // activas / maximo; cerca de 1 con esperando > 0 indica que el pool es el cuello de botella
+    private double saturacion;
+    private long adquisiciones;
+    private double esperaPromedioMs;
+    private double esperaMaximaMs;
+    // Cantidad de adquisiciones por tiempo de espera: "<=1ms", "<=10ms", "<=100ms", "<=1000ms", ">1000ms"
+    private Map<String, Long> esperas;
+    private long timeouts;
+    private double usoPromedioMs;
+    private long conexionesCreadas;
+}
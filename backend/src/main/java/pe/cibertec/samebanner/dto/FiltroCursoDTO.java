@@ -0,0 +1,22 @@
+package pe.cibertec.samebanner.dto;
+
+import lombok.Data;
+
+@Data
+public class FiltroCursoDTO {
+    private Integer carreraId;
+    private String ciclo;
+    private String sede;
+    private String turno;
+    private String modalidad;
+    private String areaConocimiento;
+    private Integer docenteId;
+    private Boolean activo;
+
+    // Orden y posición de la página (keyset): se continúa después de (valorCursor, idCursor)
+    private String orden = "codigoCurso";
+    private boolean descendente;
+    private Object valorCursor;
+    private Integer idCursor;
+    private int limite = 50;
+}
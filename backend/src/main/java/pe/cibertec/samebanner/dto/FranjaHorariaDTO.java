@@ -0,0 +1,17 @@
+package pe.cibertec.samebanner.dto;
+
+import java.time.LocalTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class FranjaHorariaDTO {
+    private String dia;
+    private LocalTime horaInicio;
+    private LocalTime horaFin;
+    private String codigoCurso;
+    private String nombre;
+    private String aula;
+}
@@ -0,0 +1,14 @@
+package pe.cibertec.samebanner.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PaginaDTO<T> {
+    private List<T> items;
+    // Token para pedir la página siguiente; null cuando no hay más resultados
+    private String siguiente;
+}
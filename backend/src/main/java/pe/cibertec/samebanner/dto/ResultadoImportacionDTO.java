@@ -0,0 +1,19 @@
+package pe.cibertec.samebanner.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class ResultadoImportacionDTO {
+    private long filasLeidas;
+    private long insertadas;
+    private long rechazadas;
+    private int lotes;
+    private long milisegundos;
+    private long filasPorSegundo;
+    // Solo los primeros errores; el resto se cuenta en erroresOmitidos
+    private List<ErrorImportacionDTO> errores = new ArrayList<>();
+    private long erroresOmitidos;
+}
@@ -0,0 +1,20 @@
+package pe.cibertec.samebanner.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Data;
+
+// Todo lo que muestran el dashboard del estudiante y schedule-viewer en un solo documento
+@Data
+public class VistaProyeccionDTO {
+    private Integer usuarioId;
+    private Integer proyeccionId;
+    private String cicloProyectado;
+    private LocalDateTime fechaActualizacion;
+    private int totalCursos;
+    private int totalCreditos;
+    private List<CursoVistaDTO> cursos;
+    // Una franja por día de cada curso, ordenadas por día de la semana y hora de inicio
+    private List<FranjaHorariaDTO> horario;
+}
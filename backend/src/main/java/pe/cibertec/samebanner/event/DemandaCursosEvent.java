@@ -0,0 +1,10 @@
+package pe.cibertec.samebanner.event;
+
+import java.util.Collection;
+
+/**
+ * Cursos que entraron o salieron de alguna proyección; cada id cuenta una vez por fila de
+ * proyeccion_cursos agregada o eliminada.
+ */
+public record DemandaCursosEvent(Collection<Integer> agregados, Collection<Integer> retirados) {
+}
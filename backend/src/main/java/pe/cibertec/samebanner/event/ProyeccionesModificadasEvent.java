@@ -0,0 +1,10 @@
+package pe.cibertec.samebanner.event;
+
+import java.util.Collection;
+
+/**
+ * Se publica cuando cambian datos que forman parte de la vista de proyección de uno o más
+ * estudiantes: su propia proyección o un curso incluido en ella.
+ */
+public record ProyeccionesModificadasEvent(Collection<Integer> usuarioIds) {
+}
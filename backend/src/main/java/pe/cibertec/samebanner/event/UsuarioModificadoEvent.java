@@ -0,0 +1,8 @@
+package pe.cibertec.samebanner.event;
+
+/**
+ * Usuario cuya fila en usuarios cambió (p. ej. el rehash de la contraseña tras el login); las
+ * caches de usuarios y de perfiles deben descartar la copia que tengan.
+ */
+public record UsuarioModificadoEvent(Integer id, String email) {
+}
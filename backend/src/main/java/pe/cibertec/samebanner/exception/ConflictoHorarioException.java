@@ -0,0 +1,19 @@
+package pe.cibertec.samebanner.exception;
+
+import java.util.List;
+
+import pe.cibertec.samebanner.dto.ConflictoHorarioDTO;
+
+public class ConflictoHorarioException extends RuntimeException {
+
+    private final List<ConflictoHorarioDTO> conflictos;
+
+    public ConflictoHorarioException(List<ConflictoHorarioDTO> conflictos) {
+        super("La proyección tiene " + conflictos.size() + " cruce(s) de horario");
+        this.conflictos = conflictos;
+    }
+
+    public List<ConflictoHorarioDTO> getConflictos() {
+        return conflictos;
+    }
+}
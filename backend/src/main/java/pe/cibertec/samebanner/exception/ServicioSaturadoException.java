@@ -0,0 +1,15 @@
+package pe.cibertec.samebanner.exception;
+
+public class ServicioSaturadoException extends RuntimeException {
+
+    private final int reintentarEnSegundos;
+
+    public ServicioSaturadoException(String mensaje, int reintentarEnSegundos) {
+        super(mensaje);
+        this.reintentarEnSegundos = reintentarEnSegundos;
+    }
+
+    public int getReintentarEnSegundos() {
+        return reintentarEnSegundos;
+    }
+}
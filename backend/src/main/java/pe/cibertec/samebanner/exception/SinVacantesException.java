@@ -0,0 +1,17 @@
+package pe.cibertec.samebanner.exception;
+
+import java.util.List;
+
+public class SinVacantesException extends RuntimeException {
+
+    private final List<String> codigosCursos;
+
+    public SinVacantesException(List<String> codigosCursos) {
+        super("No hay vacantes disponibles en: " + String.join(", ", codigosCursos));
+        this.codigosCursos = codigosCursos;
+    }
+
+    public List<String> getCodigosCursos() {
+        return codigosCursos;
+    }
+}
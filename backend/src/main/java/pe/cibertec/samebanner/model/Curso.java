@@ -2,6 +2,10 @@ package pe.cibertec.samebanner.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import pe.cibertec.samebanner.util.IdDeSecuencia;
+import pe.cibertec.samebanner.util.BloqueHorario;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.LocalTime;
 import java.time.LocalDateTime;
 
@@ -10,7 +14,7 @@ import java.time.LocalDateTime;
 @Table(name = "cursos")
 public class Curso {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdDeSecuencia("cursos")
     private Integer id;
 
     @Column(name = "codigo_curso")
@@ -31,10 +35,15 @@ public class Curso {
     private String sede;
     private String turno;
 
-    @Column(name = "vacantes_totales")
+    // Las vacantes solo se escriben al insertar; después las cambian los UPDATE condicionales de
+    // CursoRepositoryImpl, así guardar el curso no pisa las reservas hechas mientras tanto
+    @Column(name = "vacantes_totales", updatable = false)
     private Integer vacantesTotales;
 
-    @Column(name = "vacantes_disponibles")
+    // Las copias del catálogo en memoria no lo llevan (cambia con cada reserva); se omite del JSON
+    // en ese caso y se consulta aparte en /api/courses/seats
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Column(name = "vacantes_disponibles", updatable = false)
     private Integer vacantesDisponibles;
 
     @Column(name = "docente_id")
@@ -58,4 +67,15 @@ public class Curso {
 
     @Column(name = "fecha_creacion")
     private LocalDateTime fechaCreacion;
+
+    // Horario ya interpretado; se calcula una vez y vive mientras el curso esté en la cache del catálogo
+    @JsonIgnore
+    private transient BloqueHorario bloqueHorario;
+
+    public BloqueHorario getBloqueHorario() {
+        if (bloqueHorario == null) {
+            bloqueHorario = BloqueHorario.de(horarioDias, horaInicio, horaFin);
+        }
+        return bloqueHorario;
+    }
 }
@@ -0,0 +1,20 @@
+package pe.cibertec.samebanner.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+// Total de proyecciones que incluyen cada curso; lo mantiene IDemandaService con incrementos periódicos
+@Data
+@Entity
+@Table(name = "demanda_cursos")
+public class DemandaCurso {
+    @Id
+    @Column(name = "curso_id")
+    private Integer cursoId;
+
+    private Long proyectados;
+
+    @Column(name = "fecha_actualizacion")
+    private LocalDateTime fechaActualizacion;
+}
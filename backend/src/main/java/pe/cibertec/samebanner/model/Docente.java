@@ -2,6 +2,7 @@ package pe.cibertec.samebanner.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import pe.cibertec.samebanner.util.IdDeSecuencia;
 import java.time.LocalDateTime;
 
 @Data
@@ -9,7 +10,7 @@ import java.time.LocalDateTime;
 @Table(name = "docentes")
 public class Docente {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdDeSecuencia("docentes")
     private Integer id;
 
     @Column(name = "codigo_docente")
@@ -2,6 +2,7 @@ package pe.cibertec.samebanner.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import pe.cibertec.samebanner.util.IdDeSecuencia;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -12,7 +13,7 @@ import java.util.List;
 @Table(name = "proyecciones")
 public class Proyeccion {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdDeSecuencia("proyecciones")
     private Integer id;
 
     @Column(name = "usuario_id")
@@ -22,7 +23,7 @@ public class Proyeccion {
     private String cicloProyectado;
 
     @JsonManagedReference
-    @OneToMany(mappedBy = "proyeccion", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "proyeccion", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<ProyeccionCurso> proyeccionCursos = new ArrayList<>();
 
     @Column(name = "fecha_creacion")
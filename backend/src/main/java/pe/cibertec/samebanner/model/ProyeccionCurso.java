@@ -2,6 +2,7 @@ package pe.cibertec.samebanner.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import pe.cibertec.samebanner.util.IdDeSecuencia;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import java.time.LocalDateTime;
 
@@ -10,7 +11,7 @@ import java.time.LocalDateTime;
 @Table(name = "proyeccion_cursos")
 public class ProyeccionCurso {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdDeSecuencia("proyeccion_cursos")
     private Integer id;
 
     @JsonBackReference
@@ -18,7 +19,7 @@ public class ProyeccionCurso {
     @JoinColumn(name = "proyeccion_id")
     private Proyeccion proyeccion;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "curso_id")
     private Curso curso;
 
@@ -0,0 +1,18 @@
+package pe.cibertec.samebanner.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import pe.cibertec.samebanner.util.AsignadorIds;
+
+// Fila de la tabla secuencias; solo AsignadorIds la lee y la avanza, con JDBC
+@Data
+@Entity
+@Table(name = AsignadorIds.TABLA)
+public class Secuencia {
+    @Id
+    @Column(name = AsignadorIds.COLUMNA_NOMBRE, length = 64)
+    private String nombre;
+
+    @Column(name = AsignadorIds.COLUMNA_SIGUIENTE, nullable = false)
+    private Long siguiente;
+}
@@ -0,0 +1,18 @@
+package pe.cibertec.samebanner.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import pe.cibertec.samebanner.util.VersionesCatalogo;
+
+// Fila de la tabla versiones_catalogo; solo VersionesCatalogo la lee y la incrementa, con JDBC
+@Data
+@Entity
+@Table(name = VersionesCatalogo.TABLA)
+public class VersionCatalogo {
+    @Id
+    @Column(name = VersionesCatalogo.COLUMNA_TABLA, length = 20)
+    private String tabla;
+
+    @Column(name = VersionesCatalogo.COLUMNA_VERSION, nullable = false)
+    private Long version;
+}
@@ -0,0 +1,28 @@
+package pe.cibertec.samebanner.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+// Documento JSON ya armado con la proyección de un estudiante (ver VistaProyeccionDTO).
+// Sin documento, la vista fue descartada y se arma en la siguiente lectura
+@Data
+@Entity
+@Table(name = "vistas_proyeccion")
+public class VistaProyeccion {
+    @Id
+    @Column(name = "usuario_id")
+    private Integer usuarioId;
+
+    @Column(name = "documento", columnDefinition = "MEDIUMTEXT")
+    private String documento;
+
+    private String etag;
+
+    @Column(name = "fecha_actualizacion")
+    private LocalDateTime fechaActualizacion;
+
+    // Momento en que se empezaron a leer los datos de la vista; solo se escribe sobre una menor
+    @Column(name = "generacion", nullable = false)
+    private long generacion;
+}
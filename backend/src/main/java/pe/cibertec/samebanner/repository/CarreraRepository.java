@@ -2,6 +2,9 @@ package pe.cibertec.samebanner.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import pe.cibertec.samebanner.model.Carrera;
+import java.util.List;
 
 public interface CarreraRepository extends JpaRepository<Carrera, Integer> {
+    // Proyección dinámica: solo se seleccionan las columnas del tipo indicado
+    <T> List<T> findAllBy(Class<T> tipo);
 }
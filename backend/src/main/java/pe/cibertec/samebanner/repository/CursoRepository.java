@@ -2,10 +2,16 @@ package pe.cibertec.samebanner.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import pe.cibertec.samebanner.model.Curso;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface CursoRepository extends JpaRepository<Curso, Integer> {
+public interface CursoRepository extends JpaRepository<Curso, Integer>, CursoRepositoryCustom {
     List<Curso> findByCarreraIdAndCiclo(Integer carreraId, String ciclo);
     Optional<Curso> findByCodigoCurso(String codigoCurso);
+    List<Curso> findByCodigoCursoIn(Collection<String> codigosCursos);
+
+    // Proyecciones dinámicas: solo se seleccionan las columnas del tipo indicado
+    <T> List<T> findAllBy(Class<T> tipo);
+    <T> List<T> findByCarreraIdAndCiclo(Integer carreraId, String ciclo, Class<T> tipo);
 }
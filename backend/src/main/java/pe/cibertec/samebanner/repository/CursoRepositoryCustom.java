@@ -0,0 +1,18 @@
+package pe.cibertec.samebanner.repository;
+
+import pe.cibertec.samebanner.dto.FiltroCursoDTO;
+import pe.cibertec.samebanner.model.Curso;
+import java.util.List;
+
+public interface CursoRepositoryCustom {
+    // Paginación por keyset: WHERE (orden, id) > (valorCursor, idCursor) ORDER BY orden, id LIMIT n
+    List<Curso> buscarPagina(FiltroCursoDTO filtro);
+
+    // Un UPDATE condicional por curso en un solo lote; devuelve las filas afectadas de cada uno
+    int[] descontarVacantes(List<Integer> cursoIds);
+    int[] devolverVacantes(List<Integer> cursoIds);
+
+    // Cambia vacantes_totales y mueve vacantes_disponibles en la misma diferencia; devuelve las
+    // vacantes disponibles resultantes o -1 si ya hay más vacantes reservadas que el nuevo total
+    int cambiarVacantesTotales(Integer cursoId, int vacantesTotales);
+}
@@ -0,0 +1,129 @@
+package pe.cibertec.samebanner.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pe.cibertec.samebanner.dto.FiltroCursoDTO;
+import pe.cibertec.samebanner.model.Curso;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CursoRepositoryImpl implements CursoRepositoryCustom {
+    // La condición hace atómico el descuento: nunca baja de 0 ni sube de vacantes_totales
+    private static final String DESCONTAR_SQL =
+            "UPDATE cursos SET vacantes_disponibles = vacantes_disponibles - 1 WHERE id = ? AND vacantes_disponibles > 0";
+    private static final String DEVOLVER_SQL =
+            "UPDATE cursos SET vacantes_disponibles = vacantes_disponibles + 1 WHERE id = ? AND vacantes_disponibles < vacantes_totales";
+
+    // disponibles se asigna antes que totales: MySQL evalúa el SET de izquierda a derecha y la
+    // diferencia debe calcularse con el total anterior
+    private static final String CAMBIAR_TOTALES_SQL =
+            "UPDATE cursos SET vacantes_disponibles = vacantes_disponibles + (? - vacantes_totales), vacantes_totales = ?"
+            + " WHERE id = ? AND vacantes_totales - vacantes_disponibles <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CursoRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<Curso> buscarPagina(FiltroCursoDTO filtro) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Curso> query = cb.createQuery(Curso.class);
+        Root<Curso> curso = query.from(Curso.class);
+
+        List<Predicate> condiciones = new ArrayList<>();
+        agregarIgual(cb, condiciones, curso.get("carreraId"), filtro.getCarreraId());
+        agregarIgual(cb, condiciones, curso.get("ciclo"), filtro.getCiclo());
+        agregarIgual(cb, condiciones, curso.get("sede"), filtro.getSede());
+        agregarIgual(cb, condiciones, curso.get("turno"), filtro.getTurno());
+        agregarIgual(cb, condiciones, curso.get("modalidad"), filtro.getModalidad());
+        agregarIgual(cb, condiciones, curso.get("areaConocimiento"), filtro.getAreaConocimiento());
+        agregarIgual(cb, condiciones, curso.get("docenteId"), filtro.getDocenteId());
+        agregarIgual(cb, condiciones, curso.get("activo"), filtro.getActivo());
+
+        Path<Comparable> orden = curso.get(filtro.getOrden());
+        Path<Integer> id = curso.get("id");
+
+        // Continuar después de la última fila de la página anterior, sin OFFSET
+        if (filtro.getValorCursor() != null && filtro.getIdCursor() != null) {
+            Comparable valor = (Comparable) filtro.getValorCursor();
+            if (filtro.isDescendente()) {
+                condiciones.add(cb.or(
+                        cb.lessThan(orden, valor),
+                        cb.and(cb.equal(orden, valor), cb.lessThan(id, filtro.getIdCursor()))));
+            } else {
+                condiciones.add(cb.or(
+                        cb.greaterThan(orden, valor),
+                        cb.and(cb.equal(orden, valor), cb.greaterThan(id, filtro.getIdCursor()))));
+            }
+        }
+
+        query.select(curso)
+                .where(condiciones.toArray(new Predicate[0]))
+                .orderBy(filtro.isDescendente()
+                        ? List.of(cb.desc(orden), cb.desc(id))
+                        : List.of(cb.asc(orden), cb.asc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(filtro.getLimite())
+                .getResultList();
+    }
+
+    @Override
+    public int[] descontarVacantes(List<Integer> cursoIds) {
+        return actualizarVacantes(DESCONTAR_SQL, cursoIds);
+    }
+
+    @Override
+    public int[] devolverVacantes(List<Integer> cursoIds) {
+        return actualizarVacantes(DEVOLVER_SQL, cursoIds);
+    }
+
+    @Override
+    public int cambiarVacantesTotales(Integer cursoId, int vacantesTotales) {
+        int filas = jdbcTemplate.update(CAMBIAR_TOTALES_SQL, vacantesTotales, vacantesTotales, cursoId, vacantesTotales);
+        if (filas == 0) {
+            return -1;
+        }
+        // La fila queda bloqueada por el UPDATE hasta el commit, así que la lectura es consistente
+        return jdbcTemplate.queryForObject("SELECT vacantes_disponibles FROM cursos WHERE id = ?", Integer.class, cursoId);
+    }
+
+    private int[] actualizarVacantes(String sql, List<Integer> cursoIds) {
+        if (cursoIds.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setInt(1, cursoIds.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return cursoIds.size();
+            }
+        });
+    }
+
+    private static void agregarIgual(CriteriaBuilder cb, List<Predicate> condiciones, Path<?> campo, Object valor) {
+        if (valor != null) {
+            condiciones.add(cb.equal(campo, valor));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package pe.cibertec.samebanner.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import pe.cibertec.samebanner.dto.DemandaCursoDTO;
+
+public interface DemandaCursoRepositoryCustom {
+    // Suma los incrementos en lote: UPDATE por curso y, si aún no tenía fila, INSERT ... SELECT desde cursos
+    void sumarEnLote(Map<Integer, Long> incrementos);
+
+    // Vacía la tabla y la vuelve a llenar con los conteos dados (cursos sin entrada quedan en 0)
+    void reemplazar(Map<Integer, Long> conteos);
+
+    // El agregado real, para comparar con los contadores
+    Map<Integer, Long> contarProyectados();
+
+    // Todos los cursos con su contador (0 si no tienen fila), sin recorrer proyeccion_cursos
+    List<DemandaCursoDTO> listarConCursos();
+}
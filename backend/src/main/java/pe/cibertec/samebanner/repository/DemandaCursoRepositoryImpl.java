@@ -0,0 +1,102 @@
+package pe.cibertec.samebanner.repository;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import pe.cibertec.samebanner.dto.DemandaCursoDTO;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DemandaCursoRepositoryImpl implements DemandaCursoRepositoryCustom {
+
+    private static final String SUMAR_SQL =
+            "UPDATE demanda_cursos SET proyectados = proyectados + ?, fecha_actualizacion = ? WHERE curso_id = ?";
+    // Si el curso se eliminó mientras tanto no se inserta nada (su fila ya se borró en cascada)
+    private static final String INSERTAR_SQL =
+            "INSERT INTO demanda_cursos (curso_id, proyectados, fecha_actualizacion) SELECT id, ?, ? FROM cursos WHERE id = ?";
+    private static final String CONTAR_SQL =
+            "SELECT curso_id, COUNT(*) FROM proyeccion_cursos GROUP BY curso_id";
+    private static final String LISTAR_SQL =
+            "SELECT c.id, c.codigo_curso, c.nombre, c.ciclo, c.carrera_id, c.vacantes_totales, COALESCE(d.proyectados, 0)"
+            + " FROM cursos c LEFT JOIN demanda_cursos d ON d.curso_id = c.id ORDER BY c.codigo_curso";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DemandaCursoRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void sumarEnLote(Map<Integer, Long> incrementos) {
+        if (incrementos.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Integer, Long>> filas = new ArrayList<>(incrementos.entrySet());
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        int[] actualizadas = ejecutarLote(SUMAR_SQL, filas, ahora);
+
+        List<Map.Entry<Integer, Long>> faltantes = new ArrayList<>();
+        for (int i = 0; i < actualizadas.length; i++) {
+            if (actualizadas[i] == 0) {
+                faltantes.add(filas.get(i));
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            ejecutarLote(INSERTAR_SQL, faltantes, ahora);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void reemplazar(Map<Integer, Long> conteos) {
+        jdbcTemplate.update("DELETE FROM demanda_cursos");
+        if (!conteos.isEmpty()) {
+            ejecutarLote(INSERTAR_SQL, new ArrayList<>(conteos.entrySet()), Timestamp.valueOf(LocalDateTime.now()));
+        }
+    }
+
+    @Override
+    public Map<Integer, Long> contarProyectados() {
+        Map<Integer, Long> conteos = new HashMap<>();
+        jdbcTemplate.query(CONTAR_SQL, rs -> {
+            conteos.put(rs.getInt(1), rs.getLong(2));
+        });
+        return conteos;
+    }
+
+    @Override
+    public List<DemandaCursoDTO> listarConCursos() {
+        return jdbcTemplate.query(LISTAR_SQL, (rs, fila) -> new DemandaCursoDTO(
+                rs.getInt(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                (Integer) rs.getObject(5),
+                (Integer) rs.getObject(6),
+                rs.getLong(7)));
+    }
+
+    private int[] ejecutarLote(String sql, List<Map.Entry<Integer, Long>> filas, Timestamp ahora) {
+        return jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, filas.get(i).getValue());
+                ps.setTimestamp(2, ahora);
+                ps.setInt(3, filas.get(i).getKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return filas.size();
+            }
+        });
+    }
+}
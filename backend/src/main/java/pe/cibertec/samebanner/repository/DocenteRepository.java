@@ -1,7 +1,15 @@
 package pe.cibertec.samebanner.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import pe.cibertec.samebanner.dto.DocenteResumen;
 import pe.cibertec.samebanner.model.Docente;
+import java.util.List;
 
 public interface DocenteRepository extends JpaRepository<Docente, Integer> {
+    // Consulta explícita: los nombres con "_" no se pueden derivar como propiedades de la proyección
+    @Query("SELECT d.id AS id, d.codigo_docente AS codigo_docente, d.nombre AS nombre, d.apellido AS apellido, "
+            + "d.email AS email, d.especialidad AS especialidad, d.departamento AS departamento, d.activo AS activo "
+            + "FROM Docente d")
+    List<DocenteResumen> findAllResumen();
 }
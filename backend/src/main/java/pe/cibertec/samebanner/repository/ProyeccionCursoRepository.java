@@ -5,7 +5,7 @@ import pe.cibertec.samebanner.model.ProyeccionCurso;
 import pe.cibertec.samebanner.model.Proyeccion;
 import java.util.List;
 
-public interface ProyeccionCursoRepository extends JpaRepository<ProyeccionCurso, Integer> {
+public interface ProyeccionCursoRepository extends JpaRepository<ProyeccionCurso, Integer>, ProyeccionCursoRepositoryCustom {
     List<ProyeccionCurso> findByProyeccion(Proyeccion proyeccion);
     void deleteByProyeccion(Proyeccion proyeccion);
 }
@@ -0,0 +1,14 @@
+package pe.cibertec.samebanner.repository;
+
+import pe.cibertec.samebanner.model.Curso;
+import pe.cibertec.samebanner.model.Proyeccion;
+import pe.cibertec.samebanner.model.ProyeccionCurso;
+import java.util.List;
+
+public interface ProyeccionCursoRepositoryCustom {
+    // Inserta todas las filas de proyeccion_cursos en un solo lote JDBC
+    List<ProyeccionCurso> insertarEnLote(Proyeccion proyeccion, List<Curso> cursos);
+
+    // Elimina las filas indicadas con un solo DELETE ... WHERE id IN (...)
+    void eliminarEnLote(Proyeccion proyeccion, List<ProyeccionCurso> proyeccionCursos);
+}
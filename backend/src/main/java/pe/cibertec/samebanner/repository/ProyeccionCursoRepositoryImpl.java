@@ -0,0 +1,98 @@
+package pe.cibertec.samebanner.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pe.cibertec.samebanner.model.Curso;
+import pe.cibertec.samebanner.model.Proyeccion;
+import pe.cibertec.samebanner.model.ProyeccionCurso;
+import pe.cibertec.samebanner.util.AsignadorIds;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class ProyeccionCursoRepositoryImpl implements ProyeccionCursoRepositoryCustom {
+    private static final String INSERT_SQL =
+            "INSERT INTO proyeccion_cursos (id, proyeccion_id, curso_id, fecha_agregado) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AsignadorIds asignadorIds;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ProyeccionCursoRepositoryImpl(JdbcTemplate jdbcTemplate, AsignadorIds asignadorIds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.asignadorIds = asignadorIds;
+    }
+
+    @Override
+    public List<ProyeccionCurso> insertarEnLote(Proyeccion proyeccion, List<Curso> cursos) {
+        List<ProyeccionCurso> proyeccionCursos = new ArrayList<>();
+        if (cursos.isEmpty()) {
+            return proyeccionCursos;
+        }
+
+        separar(proyeccion);
+
+        LocalDateTime fechaAgregado = LocalDateTime.now();
+        // Los ids se reservan antes de insertar, así no hace falta pedir las claves generadas
+        int primerId = asignadorIds.reservar("proyeccion_cursos", cursos.size());
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setInt(1, primerId + i);
+                ps.setInt(2, proyeccion.getId());
+                ps.setInt(3, cursos.get(i).getId());
+                ps.setTimestamp(4, Timestamp.valueOf(fechaAgregado));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return cursos.size();
+            }
+        });
+
+        for (int i = 0; i < cursos.size(); i++) {
+            ProyeccionCurso proyeccionCurso = new ProyeccionCurso();
+            proyeccionCurso.setId(primerId + i);
+            proyeccionCurso.setProyeccion(proyeccion);
+            proyeccionCurso.setCurso(cursos.get(i));
+            proyeccionCurso.setFechaAgregado(fechaAgregado);
+            proyeccionCursos.add(proyeccionCurso);
+        }
+
+        proyeccion.getProyeccionCursos().addAll(proyeccionCursos);
+        return proyeccionCursos;
+    }
+
+    @Override
+    public void eliminarEnLote(Proyeccion proyeccion, List<ProyeccionCurso> proyeccionCursos) {
+        if (proyeccionCursos.isEmpty()) {
+            return;
+        }
+
+        separar(proyeccion);
+
+        Set<Integer> ids = proyeccionCursos.stream().map(ProyeccionCurso::getId).collect(Collectors.toSet());
+        entityManager.createQuery("DELETE FROM ProyeccionCurso pc WHERE pc.id IN :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+
+        proyeccion.getProyeccionCursos().removeIf(pc -> ids.contains(pc.getId()));
+    }
+
+    // Las filas se escriben fuera del contexto de persistencia: la proyección se separa para que
+    // Hibernate no intente sincronizar de nuevo la colección que se mantiene en memoria
+    private void separar(Proyeccion proyeccion) {
+        entityManager.flush();
+        entityManager.detach(proyeccion);
+    }
+}
@@ -1,9 +1,17 @@
 package pe.cibertec.samebanner.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import pe.cibertec.samebanner.model.Proyeccion;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProyeccionRepository extends JpaRepository<Proyeccion, Integer> {
+    // Proyección, filas y cursos en un solo SELECT con LEFT JOIN; las asociaciones son LAZY por defecto
+    @EntityGraph(attributePaths = {"proyeccionCursos", "proyeccionCursos.curso"})
     Optional<Proyeccion> findByUsuarioId(Integer usuarioId);
+
+    @Query("SELECT DISTINCT p.usuarioId FROM Proyeccion p JOIN p.proyeccionCursos pc WHERE pc.curso.id = :cursoId")
+    List<Integer> findUsuarioIdsConCurso(Integer cursoId);
 }
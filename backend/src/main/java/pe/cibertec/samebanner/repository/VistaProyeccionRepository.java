@@ -0,0 +1,8 @@
+package pe.cibertec.samebanner.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import pe.cibertec.samebanner.model.VistaProyeccion;
+
+public interface VistaProyeccionRepository extends JpaRepository<VistaProyeccion, Integer>, VistaProyeccionRepositoryCustom {
+}
@@ -0,0 +1,17 @@
+package pe.cibertec.samebanner.repository;
+
+import java.util.Collection;
+
+import pe.cibertec.samebanner.model.VistaProyeccion;
+
+public interface VistaProyeccionRepositoryCustom {
+    // Escribe la vista solo si la fila no existe o tiene una generación menor; devuelve si se guardó
+    boolean guardarSiEsMasReciente(VistaProyeccion vista);
+
+    // Quita el documento sin tocar la generación, dentro de la transacción que modifica los datos
+    void vaciar(Collection<Integer> usuarioIds);
+
+    // Deja las vistas sin documento con la generación dada, para que ninguna construcción
+    // anterior a ella pueda volver a escribirlas
+    void descartar(Collection<Integer> usuarioIds, long generacion);
+}
@@ -0,0 +1,77 @@
+package pe.cibertec.samebanner.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pe.cibertec.samebanner.model.VistaProyeccion;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class VistaProyeccionRepositoryImpl implements VistaProyeccionRepositoryCustom {
+    // La condición sobre generacion es la que impide que una construcción vieja pise a una nueva
+    private static final String ACTUALIZAR_SQL =
+            "UPDATE vistas_proyeccion SET documento = ?, etag = ?, fecha_actualizacion = ?, generacion = ?"
+            + " WHERE usuario_id = ? AND generacion < ?";
+    private static final String VACIAR_SQL =
+            "UPDATE vistas_proyeccion SET documento = NULL, etag = NULL WHERE usuario_id = ?";
+    private static final String INSERTAR_SQL =
+            "INSERT INTO vistas_proyeccion (usuario_id, documento, etag, fecha_actualizacion, generacion)"
+            + " VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VistaProyeccionRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean guardarSiEsMasReciente(VistaProyeccion vista) {
+        return escribir(vista.getUsuarioId(), vista.getDocumento(), vista.getEtag(),
+                vista.getFechaActualizacion(), vista.getGeneracion());
+    }
+
+    @Override
+    public void vaciar(Collection<Integer> usuarioIds) {
+        jdbcTemplate.batchUpdate(VACIAR_SQL, new ArrayList<>(usuarioIds), usuarioIds.size(),
+                (ps, usuarioId) -> ps.setInt(1, usuarioId));
+    }
+
+    @Override
+    public void descartar(Collection<Integer> usuarioIds, long generacion) {
+        List<Integer> ids = new ArrayList<>(usuarioIds);
+        LocalDateTime ahora = LocalDateTime.now();
+        // Un lote de UPDATE como descontarVacantes; solo los usuarios sin fila siguen de a uno
+        int[][] actualizadas = jdbcTemplate.batchUpdate(ACTUALIZAR_SQL, ids, ids.size(), (ps, usuarioId) -> {
+            ps.setString(1, null);
+            ps.setString(2, null);
+            ps.setTimestamp(3, Timestamp.valueOf(ahora));
+            ps.setLong(4, generacion);
+            ps.setInt(5, usuarioId);
+            ps.setLong(6, generacion);
+        });
+        int[] filas = actualizadas.length > 0 ? actualizadas[0] : new int[0];
+        for (int i = 0; i < filas.length; i++) {
+            // Sin fila todavía (o con una generación mayor): se intenta insertarla vacía para que una
+            // lectura en curso no la llene con datos viejos
+            if (filas[i] == 0) {
+                escribir(ids.get(i), null, null, ahora, generacion);
+            }
+        }
+    }
+
+    private boolean escribir(Integer usuarioId, String documento, String etag, LocalDateTime fecha, long generacion) {
+        Timestamp momento = Timestamp.valueOf(fecha);
+        if (jdbcTemplate.update(ACTUALIZAR_SQL, documento, etag, momento, generacion, usuarioId, generacion) > 0) {
+            return true;
+        }
+        try {
+            return jdbcTemplate.update(INSERTAR_SQL, usuarioId, documento, etag, momento, generacion) > 0;
+        } catch (DuplicateKeyException e) {
+            // Otra escritura insertó la fila entre el UPDATE y el INSERT; se vuelve a comparar la generación
+            return jdbcTemplate.update(ACTUALIZAR_SQL, documento, etag, momento, generacion, usuarioId, generacion) > 0;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package pe.cibertec.samebanner.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import pe.cibertec.samebanner.exception.ServicioSaturadoException;
+
+/**
+ * Ejecuta el hash de contraseñas (BCrypt) en un pool acotado al número de núcleos.
+ * Con la cola llena se rechaza de inmediato con {@link ServicioSaturadoException}, de modo
+ * que una ráfaga de logins retiene como máximo hilos + cola hilos de Tomcat y el resto
+ * de peticiones sigue atendiéndose.
+ */
+@Component
+public class EjecutorHash {
+
+    private final ThreadPoolExecutor pool;
+    private final int reintentarEnSegundos;
+
+    public EjecutorHash(@Value("${samebanner.seguridad.hash.hilos:0}") int hilos,
+            @Value("${samebanner.seguridad.hash.cola:32}") int cola,
+            @Value("${samebanner.seguridad.hash.reintentar-en-segundos:2}") int reintentarEnSegundos) {
+        // Siempre hilos de plataforma, también en el modo con hilos virtuales: BCrypt usa CPU y el pool es el límite
+        int tamano = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(tamano, tamano, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, cola)),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "hash-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.reintentarEnSegundos = reintentarEnSegundos;
+    }
+
+    public <T> T ejecutar(Callable<T> tarea) {
+        Future<T> resultado;
+        try {
+            resultado = pool.submit(tarea);
+        } catch (RejectedExecutionException e) {
+            throw new ServicioSaturadoException("Demasiadas verificaciones de contraseña en curso", reintentarEnSegundos);
+        }
+
+        try {
+            return resultado.get();
+        } catch (InterruptedException e) {
+            resultado.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServicioSaturadoException("Verificación de contraseña interrumpida", reintentarEnSegundos);
+        } catch (ExecutionException e) {
+            // Se propaga la excepción original (p. ej. BadCredentialsException) para que Spring Security la trate igual
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public int getReintentarEnSegundos() {
+        return reintentarEnSegundos;
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        pool.shutdownNow();
+    }
+}
@@ -4,6 +4,8 @@ package pe.cibertec.samebanner.security;
 import java.io.IOException;
 import java.util.Collections;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -18,11 +20,23 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import pe.cibertec.samebanner.exception.ServicioSaturadoException;
 import pe.cibertec.samebanner.model.Auth;
+import pe.cibertec.samebanner.model.Usuario;
 import pe.cibertec.samebanner.serviceImplement.UserDetailImplement;
 import pe.cibertec.samebanner.util.Token;
 
 public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(JWTAuthenticationFilter.class);
+
+    private final EjecutorHash ejecutorHash;
+    private final LimitadorPeticionesFilter limitador;
+
+    public JWTAuthenticationFilter(EjecutorHash ejecutorHash, LimitadorPeticionesFilter limitador) {
+        this.ejecutorHash = ejecutorHash;
+        this.limitador = limitador;
+    }
     
     @Override
     public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response)
@@ -39,17 +53,28 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
             
             // --- NUEVO CHEQUEO ---
             if (authCredenciales.getEmail() == null || authCredenciales.getPassword() == null) {
-                System.err.println("ERROR: Email o Password son nulos después de deserializar JSON.");
+                log.debug("Email o password nulos después de deserializar el JSON del login");
                 throw new BadCredentialsException("Email o password no proporcionados en el JSON.");
             }
             // --- FIN NUEVO CHEQUEO ---
 
         } catch (IOException e) {
-            System.err.println("Error al leer las credenciales del login (JSON): " + e.getMessage());
-            e.printStackTrace();
+            log.debug("Error al leer las credenciales del login (JSON)", e);
             throw new BadCredentialsException("Formato de credenciales inválido o error de lectura", e);
         }
         
+        // Límite por cuenta: los intentos contra un mismo email se frenan aunque lleguen desde muchas IP,
+        // y los estudiantes detrás de una misma IP no se bloquean entre sí
+        long espera = limitador.esperaLogin(authCredenciales.getEmail());
+        if (espera > 0) {
+            try {
+                LimitadorPeticionesFilter.responderLimite(response, espera);
+            } catch (IOException e) {
+                log.warn("Error al responder 429 en el login: {}", e.getMessage());
+            }
+            return null;
+        }
+
         UsernamePasswordAuthenticationToken userPat = new UsernamePasswordAuthenticationToken(
                 authCredenciales.getEmail(),
                 authCredenciales.getPassword(),
@@ -58,17 +83,35 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
         
         //System.out.println("Creando UsernamePasswordAuthenticationToken para: " + authCredenciales.getEmail());
         
-        return getAuthenticationManager().authenticate(userPat);
+        // BCrypt se ejecuta en el pool acotado para no ocupar todos los hilos de Tomcat durante una ráfaga de logins
+        try {
+            return ejecutorHash.ejecutar(() -> getAuthenticationManager().authenticate(userPat));
+        } catch (ServicioSaturadoException e) {
+            responderSaturado(response, e);
+            return null;
+        }
+    }
+
+    private void responderSaturado(HttpServletResponse response, ServicioSaturadoException e) {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", String.valueOf(e.getReintentarEnSegundos()));
+        response.setContentType("application/json");
+        try {
+            response.getWriter().write("{\"error\":\"" + e.getMessage() + "\"}");
+            response.getWriter().flush();
+        } catch (IOException ex) {
+            log.warn("Error al responder 503 en el login: {}", ex.getMessage());
+        }
     }
 	
     @Override
     protected void successfulAuthentication(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
             Authentication authResult) throws IOException, ServletException {
 
-        org.springframework.security.core.userdetails.User userSpringSecurity = 
-                (org.springframework.security.core.userdetails.User) authResult.getPrincipal();
+        UserDetailImplement userDetail = (UserDetailImplement) authResult.getPrincipal();
+        Usuario usuario = userDetail.getUsuario();
         
-        String token = Token.crearToken(userSpringSecurity.getUsername(), userSpringSecurity.getUsername());
+        String token = Token.crearToken(usuario.getId(), userDetail.getUsername(), userDetail.getUsername(), usuario.getRol());
         
         response.setContentType("application/json");
         response.getWriter().write("{\"token\":\"" + token + "\"}");
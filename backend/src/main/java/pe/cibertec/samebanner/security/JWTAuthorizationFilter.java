@@ -3,12 +3,19 @@ package pe.cibertec.samebanner.security;
 
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
+import pe.cibertec.samebanner.util.CacheLRU;
 import pe.cibertec.samebanner.util.Token; 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -18,17 +25,67 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class JWTAuthorizationFilter extends OncePerRequestFilter{
 
+	// Token ya verificado: se guarda el resultado y su expiración, no el token en claro
+	private record TokenVerificado(UsernamePasswordAuthenticationToken auth, long expiracion) {
+	}
+
+	private final CacheLRU<String, TokenVerificado> tokensVerificados;
+
+	public JWTAuthorizationFilter(@Value("${samebanner.cache.jwt.max-entradas:10000}") int maxEntradas) {
+		this.tokensVerificados = maxEntradas > 0 ? new CacheLRU<>("jwt", maxEntradas) : null;
+	}
+
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 	        throws ServletException, IOException {
 	    String bearerToken = request.getHeader("Authorization");
 	    if( bearerToken != null && bearerToken.startsWith("Bearer ")) {
 	        String token = bearerToken.replace("Bearer ", "");
-	        UsernamePasswordAuthenticationToken userPat = Token.getAuth(token);
+	        UsernamePasswordAuthenticationToken userPat = autenticar(token);
 	        SecurityContextHolder.getContext().setAuthentication(userPat);
 	    }
 	    filterChain.doFilter(request, response); // Siempre llama a doFilter
 	}
+
+	public UsernamePasswordAuthenticationToken autenticar(String token) {
+		if (tokensVerificados == null) {
+			return Token.getAuth(token);
+		}
+
+		String clave = digest(token);
+		TokenVerificado verificado = tokensVerificados.get(clave);
+		if (verificado != null) {
+			if (verificado.expiracion() > System.currentTimeMillis()) {
+				return copiar(verificado.auth());
+			}
+			tokensVerificados.invalidar(clave);
+		}
+
+		// Solo se verifica la firma HMAC cuando el token no está en la cache o ya expiró
+		Claims claims = Token.getClaims(token);
+		if (claims == null) {
+			return null;
+		}
+		UsernamePasswordAuthenticationToken auth = Token.getAuth(claims);
+		if (claims.getExpiration() != null) {
+			tokensVerificados.put(clave, new TokenVerificado(auth, claims.getExpiration().getTime()));
+		}
+		return copiar(auth);
+	}
+
+	// Cada petición recibe su propia instancia para que nadie modifique la que está en la cache
+	private static UsernamePasswordAuthenticationToken copiar(UsernamePasswordAuthenticationToken auth) {
+		return new UsernamePasswordAuthenticationToken(auth.getPrincipal(), null, auth.getAuthorities());
+	}
+
+	private static String digest(String token) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().encodeToString(hash);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 no disponible", e);
+		}
+	}
 		
 	}
 
@@ -0,0 +1,276 @@
+package pe.cibertec.samebanner.security;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Limita las peticiones por cliente con una cubeta de tokens por regla: el usuario del JWT
+ * si la petición está autenticada y la IP en caso contrario (p. ej. /api/auth/login).
+ * Se registra justo después de {@link JWTAuthorizationFilter} para conocer al usuario.
+ *
+ * Las reglas se leen de samebanner.limite.reglas como "patron=capacidad/segundos" separadas
+ * por comas; gana la primera cuyo patrón coincide y las rutas sin regla no se limitan.
+ *
+ * Detrás de un balanceador todas las conexiones llegan desde su IP. Si la conexión viene de un
+ * proxy listado en samebanner.limite.proxies-confiables, la IP del cliente se toma de
+ * X-Forwarded-For: la primera dirección, leyendo de derecha a izquierda, que no es de un proxy
+ * confiable (las de la izquierda las escribe el cliente y no se usan). Como muchos estudiantes
+ * pueden compartir una IP (NAT del campus), el login además se limita por cuenta con
+ * samebanner.limite.login-por-cuenta; ver {@link #esperaLogin(String)}.
+ */
+@Component
+public class LimitadorPeticionesFilter extends OncePerRequestFilter {
+
+	private record Regla(int indice, PathPattern patron, long intervaloNanos, long rafagaNanos) {
+	}
+
+	private record ClaveCubeta(int regla, Object cliente) {
+	}
+
+	// IPv4 o IPv6 literal; cualquier otra cosa en X-Forwarded-For se trata como dirección de cliente
+	private static final Pattern IP_LITERAL = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}|[0-9a-fA-F.]*:[0-9a-fA-F:.]*");
+
+	// Las cubetas por cuenta no chocan con las de IP o usuario aunque el valor coincida
+	private record Cuenta(String email) {
+	}
+
+	private final boolean habilitado;
+	private final List<Regla> reglas;
+	private final Regla loginPorCuenta;
+	private final List<IpAddressMatcher> proxiesConfiables;
+	private final long limpiezaNanos;
+
+	// Cada cubeta guarda solo su "hora teórica de llegada" (GCRA), así consumir un token es un único CAS
+	private final ConcurrentHashMap<ClaveCubeta, AtomicLong> cubetas = new ConcurrentHashMap<>();
+	private final AtomicLong proximaLimpieza;
+
+	public LimitadorPeticionesFilter(@Value("${samebanner.limite.habilitado:true}") boolean habilitado,
+			@Value("${samebanner.limite.reglas:}") String reglas,
+			@Value("${samebanner.limite.login-por-cuenta:}") String loginPorCuenta,
+			@Value("${samebanner.limite.proxies-confiables:}") String proxiesConfiables,
+			@Value("${samebanner.limite.limpieza-segundos:60}") long limpiezaSegundos) {
+		this.habilitado = habilitado;
+		this.reglas = parsearReglas(reglas);
+		this.loginPorCuenta = loginPorCuenta == null || loginPorCuenta.isBlank()
+				? null
+				: parsearRegla(-1, "/api/auth/login=" + loginPorCuenta.trim());
+		this.proxiesConfiables = parsearProxies(proxiesConfiables);
+		this.limpiezaNanos = TimeUnit.SECONDS.toNanos(limpiezaSegundos);
+		this.proximaLimpieza = new AtomicLong(System.nanoTime() + limpiezaNanos);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		if (!habilitado || reglas.isEmpty()) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		long espera = esperaRequerida(request.getRequestURI(), cliente(request));
+		if (espera > 0) {
+			responderLimite(response, espera);
+			return;
+		}
+		filterChain.doFilter(request, response);
+	}
+
+	// También lo usa JWTAuthenticationFilter cuando se agota el límite de una cuenta
+	static void responderLimite(HttpServletResponse response, long esperaNanos) throws IOException {
+		long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+		response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+		response.setHeader("Retry-After", String.valueOf(segundos));
+		response.setContentType("application/json");
+		response.getWriter().write("{\"error\":\"Demasiadas peticiones, intente nuevamente en " + segundos + " s\"}");
+	}
+
+	/**
+	 * Consume un token de la cubeta que corresponde a la ruta y al cliente.
+	 * Devuelve 0 si la petición puede continuar o los nanosegundos que faltan para el siguiente token.
+	 */
+	public long esperaRequerida(String ruta, Object cliente) {
+		Regla regla = buscarRegla(ruta);
+		if (regla == null) {
+			return 0;
+		}
+		return consumir(regla, cliente);
+	}
+
+	/**
+	 * Límite de intentos de login por cuenta, independiente de la IP de origen; se consulta una vez
+	 * leído el email del cuerpo, antes de verificar la contraseña. Devuelve 0 o la espera en nanosegundos.
+	 */
+	public long esperaLogin(String email) {
+		if (!habilitado || loginPorCuenta == null || email == null) {
+			return 0;
+		}
+		return consumir(loginPorCuenta, new Cuenta(email.trim().toLowerCase(Locale.ROOT)));
+	}
+
+	private long consumir(Regla regla, Object cliente) {
+		long ahora = System.nanoTime();
+		limpiarSiCorresponde(ahora);
+
+		ClaveCubeta clave = new ClaveCubeta(regla.indice(), cliente);
+		AtomicLong llegada = cubetas.get(clave);
+		if (llegada == null) {
+			AtomicLong nueva = new AtomicLong(ahora);
+			llegada = cubetas.putIfAbsent(clave, nueva);
+			if (llegada == null) {
+				llegada = nueva;
+			}
+		}
+
+		while (true) {
+			long actual = llegada.get();
+			long siguiente = Math.max(actual, ahora) + regla.intervaloNanos();
+			long espera = siguiente - ahora - regla.rafagaNanos();
+			if (espera > 0) {
+				return espera;
+			}
+			if (llegada.compareAndSet(actual, siguiente)) {
+				return 0;
+			}
+		}
+	}
+
+	public int cubetasActivas() {
+		return cubetas.size();
+	}
+
+	private Regla buscarRegla(String ruta) {
+		PathContainer camino = PathContainer.parsePath(ruta);
+		for (Regla regla : reglas) {
+			if (regla.patron().matches(camino)) {
+				return regla;
+			}
+		}
+		return null;
+	}
+
+	private Object cliente(HttpServletRequest request) {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication != null && authentication.getPrincipal() instanceof UsuarioPrincipal principal
+				&& principal.id() != null) {
+			return principal.id();
+		}
+		return direccionCliente(request);
+	}
+
+	/**
+	 * IP del cliente: la de la conexión, o la que agregó a X-Forwarded-For el último proxy confiable
+	 * de la cadena. Un cliente que se conecta directamente no puede elegir su cubeta con la cabecera.
+	 */
+	public String direccionCliente(HttpServletRequest request) {
+		String direccion = request.getRemoteAddr();
+		if (proxiesConfiables.isEmpty() || !esProxyConfiable(direccion)) {
+			return direccion;
+		}
+		List<String> saltos = new ArrayList<>();
+		Enumeration<String> cabeceras = request.getHeaders("X-Forwarded-For");
+		while (cabeceras.hasMoreElements()) {
+			for (String salto : cabeceras.nextElement().split(",")) {
+				if (!salto.isBlank()) {
+					saltos.add(salto.trim());
+				}
+			}
+		}
+		for (int i = saltos.size() - 1; i >= 0; i--) {
+			direccion = saltos.get(i);
+			if (!esProxyConfiable(direccion)) {
+				break;
+			}
+		}
+		return direccion;
+	}
+
+	// Solo literales IP: IpAddressMatcher resolvería por DNS un nombre de host escrito en la cabecera
+	private boolean esProxyConfiable(String direccion) {
+		if (!IP_LITERAL.matcher(direccion).matches()) {
+			return false;
+		}
+		try {
+			for (IpAddressMatcher proxy : proxiesConfiables) {
+				if (proxy.matches(direccion)) {
+					return true;
+				}
+			}
+		} catch (IllegalArgumentException e) {
+			// Dirección mal formada: se trata como la de un cliente
+		}
+		return false;
+	}
+
+	// Una cubeta cuya hora de llegada ya pasó está llena: quitarla equivale a dejarla como nueva
+	private void limpiarSiCorresponde(long ahora) {
+		long limite = proximaLimpieza.get();
+		if (ahora - limite < 0 || !proximaLimpieza.compareAndSet(limite, ahora + limpiezaNanos)) {
+			return;
+		}
+		cubetas.values().removeIf(llegada -> llegada.get() - ahora <= 0);
+	}
+
+	private static List<Regla> parsearReglas(String texto) {
+		List<Regla> reglas = new ArrayList<>();
+		if (texto == null || texto.isBlank()) {
+			return reglas;
+		}
+		for (String definicion : texto.split(",")) {
+			reglas.add(parsearRegla(reglas.size(), definicion));
+		}
+		return List.copyOf(reglas);
+	}
+
+	private static Regla parsearRegla(int indice, String definicion) {
+		String[] partes = definicion.trim().split("=");
+		String[] limite = partes.length == 2 ? partes[1].split("/") : new String[0];
+		if (limite.length != 2) {
+			throw new IllegalArgumentException("Regla de límite inválida: '" + definicion.trim()
+					+ "' (formato esperado patron=capacidad/segundos)");
+		}
+		int capacidad = Integer.parseInt(limite[0].trim());
+		long periodoNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(limite[1].trim()));
+		if (capacidad <= 0 || periodoNanos <= 0) {
+			throw new IllegalArgumentException("La capacidad y el periodo deben ser positivos: " + definicion.trim());
+		}
+		long intervaloNanos = periodoNanos / capacidad;
+		return new Regla(indice, PathPatternParser.defaultInstance.parse(partes[0].trim()),
+				intervaloNanos, intervaloNanos * capacidad);
+	}
+
+	// IPs sueltas o rangos CIDR ("10.0.0.0/8"), separados por comas
+	private static List<IpAddressMatcher> parsearProxies(String texto) {
+		List<IpAddressMatcher> proxies = new ArrayList<>();
+		if (texto != null) {
+			for (String proxy : texto.split(",")) {
+				if (!proxy.isBlank()) {
+					proxies.add(new IpAddressMatcher(proxy.trim()));
+				}
+			}
+		}
+		return List.copyOf(proxies);
+	}
+}
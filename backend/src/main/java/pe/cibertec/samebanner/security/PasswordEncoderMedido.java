@@ -0,0 +1,50 @@
+package pe.cibertec.samebanner.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// BCrypt con su tiempo registrado en samebanner.bcrypt (operacion=codificar|verificar, resultado=ok|fallo)
+public class PasswordEncoderMedido implements PasswordEncoder {
+
+    private final PasswordEncoder delegado;
+    private final Timer codificar;
+    private final Timer verificarOk;
+    private final Timer verificarFallo;
+
+    public PasswordEncoderMedido(PasswordEncoder delegado, MeterRegistry meterRegistry) {
+        this.delegado = delegado;
+        this.codificar = timer(meterRegistry, "codificar", "ok");
+        this.verificarOk = timer(meterRegistry, "verificar", "ok");
+        this.verificarFallo = timer(meterRegistry, "verificar", "fallo");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return codificar.record(() -> delegado.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long inicio = System.nanoTime();
+        boolean coincide = delegado.matches(rawPassword, encodedPassword);
+        (coincide ? verificarOk : verificarFallo).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return coincide;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegado.upgradeEncoding(encodedPassword);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operacion, String resultado) {
+        return Timer.builder("samebanner.bcrypt")
+                .description("Tiempo de BCrypt al registrar usuarios y verificar contraseñas")
+                .tag("operacion", operacion)
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+}
@@ -2,6 +2,8 @@ package pe.cibertec.samebanner.security;
 
 import java.util.Arrays;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -18,6 +20,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AllArgsConstructor;
 
 @Configuration
@@ -26,11 +29,14 @@ public class SecurityConfig {
 
     private final UserDetailsService userDetailsService;
     private final JWTAuthorizationFilter jwtAuthorizationFilter;
+    private final EjecutorHash ejecutorHash;
+    private final LimitadorPeticionesFilter limitadorPeticionesFilter;
 
     @Bean
-    SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationManager authManager) throws Exception {
+    SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationManager authManager,
+            @Value("${management.server.port:-1}") int puertoAdministracion) throws Exception {
 
-        JWTAuthenticationFilter jwtAuthenticationFilter = new JWTAuthenticationFilter();
+        JWTAuthenticationFilter jwtAuthenticationFilter = new JWTAuthenticationFilter(ejecutorHash, limitadorPeticionesFilter);
         jwtAuthenticationFilter.setAuthenticationManager(authManager);
         jwtAuthenticationFilter.setFilterProcessesUrl("/api/auth/login");
 
@@ -58,24 +64,49 @@ public class SecurityConfig {
                         // DELETE para eliminar requiere el rol ADMIN
                         .requestMatchers(HttpMethod.DELETE, "/api/carreras/**").hasRole("ADMIN")
 
+                        // Exportaciones y demás endpoints de administración
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        // Las estadísticas de las caches revelan tamaños y patrones de uso
+                        .requestMatchers("/api/auth/cache/stats", "/api/courses/cache/stats").hasRole("ADMIN")
+
+                        // El health check no lleva token. Prometheus solo entra sin token por el puerto de
+                        // administración (management.server.port, red interna); en el puerto público exige ADMIN
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers(peticion -> puertoAdministracion > 0
+                                && peticion.getLocalPort() == puertoAdministracion
+                                && "/actuator/prometheus".equals(peticion.getRequestURI())).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // Cualquier otra solicitud requiere autenticación por defecto
                         .anyRequest().authenticated()
                 )
                 .addFilter(jwtAuthenticationFilter)
                 .addFilterBefore(jwtAuthorizationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Antes del filtro de login (mismo orden que JWTAuthorizationFilter, se ejecuta a continuación de él)
+                .addFilterBefore(limitadorPeticionesFilter, UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
 
+    // El limitador solo debe ejecutarse dentro de la cadena de seguridad, cuando ya se conoce al usuario del JWT
+    @Bean
+    FilterRegistrationBean<LimitadorPeticionesFilter> registroLimitadorPeticiones() {
+        FilterRegistrationBean<LimitadorPeticionesFilter> registro = new FilterRegistrationBean<>(limitadorPeticionesFilter);
+        registro.setEnabled(false);
+        return registro;
+    }
+
+    // Los hashes con un costo menor se actualizan en el siguiente login exitoso (UserDetailsPasswordService)
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(@Value("${samebanner.seguridad.bcrypt.costo:10}") int costo,
+            MeterRegistry meterRegistry) {
+        return new PasswordEncoderMedido(new BCryptPasswordEncoder(costo), meterRegistry);
     }
 
     @Bean
-    public AuthenticationManager authenticationManager(HttpSecurity http) throws Exception {
+    public AuthenticationManager authenticationManager(HttpSecurity http, PasswordEncoder passwordEncoder) throws Exception {
         return http.getSharedObject(AuthenticationManagerBuilder.class)
                 .userDetailsService(userDetailsService)
-                .passwordEncoder(passwordEncoder())
+                .passwordEncoder(passwordEncoder)
                 .and()
                 .build();
     }
@@ -85,9 +116,9 @@ public class SecurityConfig {
     CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:8080", "http://localhost:4200")); // Añade los orígenes de tu frontend
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Accept"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Accept", "If-None-Match"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "ETag", "X-SQL-Consultas", "Server-Timing"));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,12 @@
+package pe.cibertec.samebanner.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+// Datos del usuario que viajan dentro del JWT; evitan buscar el usuario por email en cada petición
+public record UsuarioPrincipal(Integer id, String email, String rol) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
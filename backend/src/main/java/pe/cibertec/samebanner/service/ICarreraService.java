@@ -3,11 +3,13 @@ package pe.cibertec.samebanner.service;
 import java.util.List;
 import java.util.Optional;
 
+import pe.cibertec.samebanner.dto.CarreraResumen;
 import pe.cibertec.samebanner.model.Carrera;
 
 public interface ICarreraService {
 	
 	public List<Carrera> listaCompletaCarrera();
+	List<CarreraResumen> listaResumenCarrera();
 	Carrera buscarCarreraPorId(Integer id);
 	Carrera guardarCarrera(Carrera carrera);
 	Optional<Carrera> actualizarCarrera(Integer id, Carrera carreraActualizada);
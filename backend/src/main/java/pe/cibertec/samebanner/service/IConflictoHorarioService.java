@@ -0,0 +1,13 @@
+package pe.cibertec.samebanner.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import pe.cibertec.samebanner.dto.ConflictoHorarioDTO;
+import pe.cibertec.samebanner.model.Curso;
+
+public interface IConflictoHorarioService {
+
+	List<ConflictoHorarioDTO> detectarConflictos(Collection<Curso> cursos);
+	List<ConflictoHorarioDTO> detectarConflictosPorCodigo(Collection<String> codigosCursos);
+}
@@ -0,0 +1,29 @@
+package pe.cibertec.samebanner.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import pe.cibertec.samebanner.dto.CursoResumen;
+import pe.cibertec.samebanner.dto.CursoVacantes;
+import pe.cibertec.samebanner.dto.EstadisticasCacheDTO;
+import pe.cibertec.samebanner.dto.FiltroCursoDTO;
+import pe.cibertec.samebanner.dto.PaginaDTO;
+import pe.cibertec.samebanner.model.Curso;
+
+public interface ICursoService {
+
+	List<Curso> listarCursos(Integer carreraId, String ciclo);
+	List<CursoResumen> listarResumenCursos(Integer carreraId, String ciclo);
+	// Vacantes disponibles, fuera del catálogo: se releen cada samebanner.cache.vacantes.refresco-ms
+	List<CursoVacantes> listarVacantes(Integer carreraId, String ciclo);
+	PaginaDTO<Curso> listarPagina(FiltroCursoDTO filtro, String cursor);
+	Curso buscarCursoPorId(Integer id);
+	Map<String, Curso> buscarCursosPorCodigo(Collection<String> codigosCursos);
+	Curso guardarCurso(Curso curso);
+	Curso actualizarCurso(Integer id, Curso curso);
+	void eliminarCurso(Integer id);
+	// Descarta las caches del catálogo tras escrituras hechas fuera de este servicio (p. ej. importaciones)
+	void recargarCatalogo();
+	List<EstadisticasCacheDTO> estadisticasCache();
+}
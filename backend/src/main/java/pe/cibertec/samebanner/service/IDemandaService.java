@@ -0,0 +1,21 @@
+package pe.cibertec.samebanner.service;
+
+import java.util.List;
+
+import pe.cibertec.samebanner.dto.DemandaCursoDTO;
+import pe.cibertec.samebanner.dto.DiferenciaDemandaDTO;
+
+public interface IDemandaService {
+
+    // Estudiantes que proyectaron cada curso, incluidos los incrementos aún no guardados
+    List<DemandaCursoDTO> listarDemanda();
+
+    // Vuelca los incrementos pendientes en demanda_cursos
+    void volcar();
+
+    // Descarta los contadores y los recalcula desde proyeccion_cursos
+    void reconstruir();
+
+    // Cursos cuyo contador no coincide con el agregado SQL; vacía si todo cuadra
+    List<DiferenciaDemandaDTO> verificar();
+}
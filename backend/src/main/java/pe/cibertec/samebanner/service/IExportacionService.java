@@ -0,0 +1,18 @@
+package pe.cibertec.samebanner.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import pe.cibertec.samebanner.util.FormatoExportacion;
+
+public interface IExportacionService {
+
+    // Catálogo completo de cursos, una fila por curso
+    void exportarCursos(FormatoExportacion formato, OutputStream salida) throws IOException;
+
+    // Una fila por curso proyectado (proyeccion_cursos) con el estudiante y el ciclo
+    void exportarProyecciones(FormatoExportacion formato, OutputStream salida) throws IOException;
+
+    // Demanda proyectada por curso frente a sus vacantes
+    void exportarDemanda(FormatoExportacion formato, OutputStream salida) throws IOException;
+}
@@ -0,0 +1,13 @@
+package pe.cibertec.samebanner.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import pe.cibertec.samebanner.dto.ResultadoImportacionDTO;
+import pe.cibertec.samebanner.util.FormatoExportacion;
+
+public interface IImportacionService {
+
+    // Inserta los cursos del archivo en lotes; las filas inválidas se informan y no detienen la carga
+    ResultadoImportacionDTO importarCursos(FormatoExportacion formato, InputStream entrada) throws IOException;
+}
@@ -0,0 +1,13 @@
+package pe.cibertec.samebanner.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import pe.cibertec.samebanner.model.Proyeccion;
+
+public interface IProyeccionService {
+
+	Optional<Proyeccion> obtenerProyeccion(Integer usuarioId);
+	Proyeccion guardarProyeccion(Integer usuarioId, String cicloProyectado, List<String> codigosCursos);
+	Optional<Proyeccion> modificarProyeccion(Integer usuarioId, String cicloProyectado, List<String> agregar, List<String> quitar);
+}
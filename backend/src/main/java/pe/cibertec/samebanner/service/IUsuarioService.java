@@ -1,9 +1,18 @@
 package pe.cibertec.samebanner.service;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.security.core.Authentication;
+
+import pe.cibertec.samebanner.dto.EstadisticasCacheDTO;
 import pe.cibertec.samebanner.dto.UsuarioRegistroDTO;
 import pe.cibertec.samebanner.model.Usuario;
 
 public interface IUsuarioService {
 
 	Usuario registrarUsuario(UsuarioRegistroDTO registroDTO);
-}
\ No newline at end of file
+	Integer obtenerIdUsuario(Authentication authentication);
+	Optional<Usuario> obtenerPerfil(Integer id);
+	List<EstadisticasCacheDTO> estadisticasCache();
+}
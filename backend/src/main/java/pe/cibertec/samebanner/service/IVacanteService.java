@@ -0,0 +1,11 @@
+package pe.cibertec.samebanner.service;
+
+import java.util.List;
+
+import pe.cibertec.samebanner.model.Curso;
+
+public interface IVacanteService {
+
+	void reservarVacantes(List<Curso> cursos);
+	void liberarVacantes(List<Curso> cursos);
+}
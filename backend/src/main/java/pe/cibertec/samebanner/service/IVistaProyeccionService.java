@@ -0,0 +1,10 @@
+package pe.cibertec.samebanner.service;
+
+import java.util.Optional;
+
+import pe.cibertec.samebanner.model.VistaProyeccion;
+
+public interface IVistaProyeccionService {
+
+	Optional<VistaProyeccion> obtenerVista(Integer usuarioId);
+}
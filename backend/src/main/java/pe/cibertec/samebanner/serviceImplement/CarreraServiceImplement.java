@@ -5,15 +5,22 @@ import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import pe.cibertec.samebanner.dto.CarreraResumen;
 import pe.cibertec.samebanner.model.Carrera;
 import pe.cibertec.samebanner.repository.CarreraRepository;
 import pe.cibertec.samebanner.service.ICarreraService;
+import pe.cibertec.samebanner.util.VersionesCatalogo;
+import pe.cibertec.samebanner.util.VersionesCatalogo.Tabla;
 @Service
 public class CarreraServiceImplement implements ICarreraService {
 
 	@Autowired
 	private CarreraRepository carreraRepository;
+
+	@Autowired
+	private VersionesCatalogo versionesCatalogo;
 	
 
 
@@ -25,6 +32,14 @@ public class CarreraServiceImplement implements ICarreraService {
 
 
 
+	@Override
+	public List<CarreraResumen> listaResumenCarrera() {
+		
+		return carreraRepository.findAllBy(CarreraResumen.class);
+	}
+
+
+
 	@Override
     public Carrera buscarCarreraPorId(Integer id) {
         return carreraRepository.findById(id)
@@ -33,15 +48,20 @@ public class CarreraServiceImplement implements ICarreraService {
 
 
 
+	// La versión del catálogo se incrementa en la misma transacción que la escritura
 	@Override
+	@Transactional
 	public Carrera guardarCarrera(Carrera carrera) {
 		
-		return carreraRepository.save(carrera);
+		Carrera guardada = carreraRepository.save(carrera);
+		versionesCatalogo.incrementar(Tabla.CARRERAS);
+		return guardada;
 	}
 
 
 
 	 @Override
+	 @Transactional
 	    public Optional<Carrera> actualizarCarrera(Integer id, Carrera carreraActualizada) {
 	        
 	        return carreraRepository.findById(id).map(carreraExistente -> {
@@ -64,17 +84,21 @@ public class CarreraServiceImplement implements ICarreraService {
 	            // El ID tampoco se actualiza.
 
 	           
-	            return carreraRepository.save(carreraExistente);
+	            Carrera guardada = carreraRepository.save(carreraExistente);
+	            versionesCatalogo.incrementar(Tabla.CARRERAS);
+	            return guardada;
 	        });
 	        
 	    }
 
 	    @Override
+	    @Transactional
 	    public void eliminarCarrera(Integer id) {
 	        if (!carreraRepository.existsById(id)) {
 	            throw new RuntimeException("Carrera con ID " + id + " no encontrada para eliminar");
 	        }
 	        carreraRepository.deleteById(id);
+	        versionesCatalogo.incrementar(Tabla.CARRERAS);
 	    }
 
 	    @Override
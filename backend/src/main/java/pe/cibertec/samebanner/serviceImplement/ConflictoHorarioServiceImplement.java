@@ -0,0 +1,69 @@
+package pe.cibertec.samebanner.serviceImplement;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import pe.cibertec.samebanner.dto.ConflictoHorarioDTO;
+import pe.cibertec.samebanner.model.Curso;
+import pe.cibertec.samebanner.service.IConflictoHorarioService;
+import pe.cibertec.samebanner.service.ICursoService;
+import pe.cibertec.samebanner.util.BloqueHorario;
+
+@Service
+public class ConflictoHorarioServiceImplement implements IConflictoHorarioService {
+
+    private final ICursoService cursoService;
+
+    public ConflictoHorarioServiceImplement(ICursoService cursoService) {
+        this.cursoService = cursoService;
+    }
+
+    @Override
+    public List<ConflictoHorarioDTO> detectarConflictos(Collection<Curso> cursos) {
+        Curso[] lista = cursos.toArray(new Curso[0]);
+        BloqueHorario[] bloques = new BloqueHorario[lista.length];
+        for (int i = 0; i < lista.length; i++) {
+            bloques[i] = lista[i].getBloqueHorario();
+        }
+
+        // Se revisan todos los pares para devolver todos los cruces en una sola respuesta
+        List<ConflictoHorarioDTO> conflictos = new ArrayList<>();
+        for (int i = 0; i < bloques.length; i++) {
+            for (int j = i + 1; j < bloques.length; j++) {
+                if (bloques[i].seCruzaCon(bloques[j])) {
+                    conflictos.add(new ConflictoHorarioDTO(
+                            lista[i].getCodigoCurso(),
+                            lista[j].getCodigoCurso(),
+                            bloques[i].diasEnComun(bloques[j]),
+                            aHora(Math.max(bloques[i].getInicio(), bloques[j].getInicio())),
+                            aHora(Math.min(bloques[i].getFin(), bloques[j].getFin()))));
+                }
+            }
+        }
+        return conflictos;
+    }
+
+    @Override
+    public List<ConflictoHorarioDTO> detectarConflictosPorCodigo(Collection<String> codigosCursos) {
+        Map<String, Curso> cursos = cursoService.buscarCursosPorCodigo(new LinkedHashSet<>(codigosCursos));
+        List<Curso> encontrados = new ArrayList<>();
+        for (String codigo : new LinkedHashSet<>(codigosCursos)) {
+            Curso curso = cursos.get(codigo);
+            if (curso == null) {
+                throw new RuntimeException("Curso no encontrado: " + codigo);
+            }
+            encontrados.add(curso);
+        }
+        return detectarConflictos(encontrados);
+    }
+
+    private static LocalTime aHora(int minutos) {
+        return LocalTime.of(minutos / 60, minutos % 60);
+    }
+}
@@ -0,0 +1,360 @@
+package pe.cibertec.samebanner.serviceImplement;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import pe.cibertec.samebanner.dto.CursoResumen;
+import pe.cibertec.samebanner.dto.CursoVacantes;
+import pe.cibertec.samebanner.dto.EstadisticasCacheDTO;
+import pe.cibertec.samebanner.dto.FiltroCursoDTO;
+import pe.cibertec.samebanner.dto.PaginaDTO;
+import pe.cibertec.samebanner.event.ProyeccionesModificadasEvent;
+import pe.cibertec.samebanner.model.Curso;
+import pe.cibertec.samebanner.repository.CursoRepository;
+import pe.cibertec.samebanner.repository.ProyeccionRepository;
+import pe.cibertec.samebanner.service.ICursoService;
+import pe.cibertec.samebanner.util.BloqueHorario;
+import pe.cibertec.samebanner.util.CacheLRU;
+import pe.cibertec.samebanner.util.VersionesCatalogo;
+import pe.cibertec.samebanner.util.VersionesCatalogo.Tabla;
+
+@Service
+public class CursoServiceImplement implements ICursoService {
+
+    // Clave del catálogo; (null, null) representa el listado completo
+    private record ClaveCatalogo(Integer carreraId, String ciclo) {
+    }
+
+    private static final ClaveCatalogo TODOS = new ClaveCatalogo(null, null);
+
+    // Vacantes de todos los cursos leídas en una sola consulta, con el instante de la lectura
+    private record LecturaVacantes(long nanos, List<CursoVacantes> cursos) {
+    }
+
+    // Campos por los que se puede ordenar; todos son NOT NULL y tienen índice con id
+    private static final Set<String> ORDENES = Set.of("codigoCurso", "nombre", "creditos", "ciclo");
+    private static final int LIMITE_MAXIMO = 200;
+
+    private final CursoRepository cursoRepository;
+    private final ProyeccionRepository proyeccionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VersionesCatalogo versionesCatalogo;
+    private final ObjectMapper objectMapper;
+    private final CacheLRU<ClaveCatalogo, List<Curso>> catalogo;
+    private final CacheLRU<ClaveCatalogo, List<CursoResumen>> catalogoResumen;
+    private final CacheLRU<String, Curso> cursosPorCodigo;
+    private final long refrescoVacantesNanos;
+    private final ReentrantLock recargaVacantes = new ReentrantLock();
+    private volatile LecturaVacantes vacantes;
+
+    // Versión de CURSOS con la que se llenaron las caches; si cambia (aquí o en otra instancia) se descartan
+    private final ReentrantLock sincronizacion = new ReentrantLock();
+    private volatile long versionCaches = -1;
+
+    public CursoServiceImplement(
+            CursoRepository cursoRepository,
+            ProyeccionRepository proyeccionRepository,
+            ApplicationEventPublisher eventPublisher,
+            VersionesCatalogo versionesCatalogo,
+            ObjectMapper objectMapper,
+            @Value("${samebanner.cache.catalogo.max-entradas:256}") int maxEntradasCatalogo,
+            @Value("${samebanner.cache.cursos-por-codigo.max-entradas:10000}") int maxEntradasCodigo,
+            @Value("${samebanner.cache.vacantes.refresco-ms:1000}") long refrescoVacantesMs) {
+        this.cursoRepository = cursoRepository;
+        this.proyeccionRepository = proyeccionRepository;
+        this.eventPublisher = eventPublisher;
+        this.versionesCatalogo = versionesCatalogo;
+        this.objectMapper = objectMapper;
+        this.catalogo = new CacheLRU<>("catalogo", maxEntradasCatalogo);
+        this.catalogoResumen = new CacheLRU<>("catalogoResumen", maxEntradasCatalogo);
+        this.cursosPorCodigo = new CacheLRU<>("cursosPorCodigo", maxEntradasCodigo);
+        this.refrescoVacantesNanos = TimeUnit.MILLISECONDS.toNanos(refrescoVacantesMs);
+    }
+
+    @Override
+    public List<Curso> listarCursos(Integer carreraId, String ciclo) {
+        sincronizarCaches();
+        ClaveCatalogo clave = carreraId != null && ciclo != null ? new ClaveCatalogo(carreraId, ciclo) : TODOS;
+        return catalogo.get(clave, this::cargarCatalogo);
+    }
+
+    @Override
+    public List<CursoResumen> listarResumenCursos(Integer carreraId, String ciclo) {
+        sincronizarCaches();
+        ClaveCatalogo clave = carreraId != null && ciclo != null ? new ClaveCatalogo(carreraId, ciclo) : TODOS;
+        return catalogoResumen.get(clave, this::cargarResumen);
+    }
+
+    @Override
+    public List<CursoVacantes> listarVacantes(Integer carreraId, String ciclo) {
+        List<CursoVacantes> cursos = lecturaVacantes().cursos();
+        if (carreraId == null || ciclo == null) {
+            return cursos;
+        }
+        return cursos.stream()
+                .filter(curso -> carreraId.equals(curso.getCarreraId()) && ciclo.equals(curso.getCiclo()))
+                .toList();
+    }
+
+    @Override
+    public PaginaDTO<Curso> listarPagina(FiltroCursoDTO filtro, String cursor) {
+        if (!ORDENES.contains(filtro.getOrden())) {
+            throw new IllegalArgumentException("Orden no soportado: " + filtro.getOrden());
+        }
+        int limite = Math.max(1, Math.min(filtro.getLimite(), LIMITE_MAXIMO));
+        if (cursor != null && !cursor.isBlank()) {
+            leerCursor(cursor, filtro);
+        }
+
+        // Se pide una fila de más para saber si existe una página siguiente
+        filtro.setLimite(limite + 1);
+        List<Curso> cursos = cursoRepository.buscarPagina(filtro);
+
+        String siguiente = null;
+        if (cursos.size() > limite) {
+            cursos = cursos.subList(0, limite);
+            siguiente = crearCursor(filtro, cursos.get(limite - 1));
+        }
+        return new PaginaDTO<>(cursos, siguiente);
+    }
+
+    @Override
+    public Curso buscarCursoPorId(Integer id) {
+        return cursoRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Curso no encontrado"));
+    }
+
+    @Override
+    public Map<String, Curso> buscarCursosPorCodigo(Collection<String> codigosCursos) {
+        sincronizarCaches();
+        Map<String, Curso> encontrados = new HashMap<>();
+        List<String> faltantes = new ArrayList<>();
+        for (String codigo : codigosCursos) {
+            Curso curso = cursosPorCodigo.get(codigo);
+            if (curso != null) {
+                encontrados.put(codigo, curso);
+            } else {
+                faltantes.add(codigo);
+            }
+        }
+
+        // Los que no están en el índice se buscan en una sola consulta IN (...)
+        if (!faltantes.isEmpty()) {
+            for (Curso curso : cursoRepository.findByCodigoCursoIn(faltantes)) {
+                Curso copia = copiarParaCache(curso);
+                cursosPorCodigo.put(copia.getCodigoCurso(), copia);
+                encontrados.put(copia.getCodigoCurso(), copia);
+            }
+        }
+        return encontrados;
+    }
+
+    @Override
+    @Transactional
+    public Curso guardarCurso(Curso curso) {
+        BloqueHorario.validarDias(curso.getHorarioDias());
+        Curso guardado = cursoRepository.save(curso);
+        versionesCatalogo.incrementar(Tabla.CURSOS);
+        return guardado;
+    }
+
+    @Override
+    @Transactional
+    public Curso actualizarCurso(Integer id, Curso curso) {
+        BloqueHorario.validarDias(curso.getHorarioDias());
+        // Copia del estado anterior: findById y save devuelven la misma instancia administrada
+        Curso anterior = copiar(cursoRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Curso no encontrado: " + id)));
+        int totales = curso.getVacantesTotales() != null ? curso.getVacantesTotales() : anterior.getVacantesTotales();
+        curso.setId(id);
+        Curso actualizado = cursoRepository.save(curso);
+
+        // El vacantesDisponibles que envía el cliente se ignora: el panel manda siempre el total y
+        // borraría las reservas; solo se traslada la diferencia de vacantesTotales
+        int disponibles = cursoRepository.cambiarVacantesTotales(id, totales);
+        if (disponibles < 0) {
+            throw new IllegalArgumentException("vacantesTotales no puede ser menor que las vacantes ya reservadas ("
+                    + (anterior.getVacantesTotales() - anterior.getVacantesDisponibles()) + ")");
+        }
+        actualizado.setVacantesTotales(totales);
+        actualizado.setVacantesDisponibles(disponibles);
+
+        // La versión se incrementa en esta transacción y las caches se descartan cuando se ve la
+        // versión nueva, ya confirmada; descartarlas antes dejaría que una lectura concurrente
+        // volviera a guardar la fila anterior
+        versionesCatalogo.incrementar(Tabla.CURSOS);
+        publicarCambio(proyeccionRepository.findUsuarioIdsConCurso(id));
+        return actualizado;
+    }
+
+    @Override
+    @Transactional
+    public void eliminarCurso(Integer id) {
+        // Los estudiantes afectados se obtienen antes de que el borrado en cascada quite sus filas
+        List<Integer> usuarioIds = proyeccionRepository.findUsuarioIdsConCurso(id);
+        cursoRepository.findById(id).ifPresent(curso -> {
+            cursoRepository.delete(curso);
+            // Como al editar: las caches se descartan al ver la versión nueva, ya confirmada, así una
+            // lectura concurrente no deja guardado un listado que todavía incluye el curso
+            versionesCatalogo.incrementar(Tabla.CURSOS);
+        });
+        publicarCambio(usuarioIds);
+    }
+
+    @Override
+    public void recargarCatalogo() {
+        versionesCatalogo.incrementar(Tabla.CURSOS);
+        descartarCaches();
+    }
+
+    @Override
+    public List<EstadisticasCacheDTO> estadisticasCache() {
+        return List.of(catalogo.estadisticas(), catalogoResumen.estadisticas(), cursosPorCodigo.estadisticas());
+    }
+
+    // El cursor guarda el orden usado y la última fila devuelta: {"o", "d", "v", "id"} en Base64 URL
+    private String crearCursor(FiltroCursoDTO filtro, Curso ultimo) {
+        Map<String, Object> datos = new HashMap<>();
+        datos.put("o", filtro.getOrden());
+        datos.put("d", filtro.isDescendente());
+        datos.put("v", valorOrden(ultimo, filtro.getOrden()));
+        datos.put("id", ultimo.getId());
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(datos));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo generar el cursor", e);
+        }
+    }
+
+    private void leerCursor(String cursor, FiltroCursoDTO filtro) {
+        Map<String, Object> datos;
+        try {
+            datos = objectMapper.readValue(Base64.getUrlDecoder().decode(cursor),
+                    new TypeReference<Map<String, Object>>() { });
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        if (!filtro.getOrden().equals(datos.get("o")) || !Boolean.valueOf(filtro.isDescendente()).equals(datos.get("d"))
+                || !(datos.get("id") instanceof Number id) || datos.get("v") == null) {
+            throw new IllegalArgumentException("El cursor no corresponde al orden solicitado");
+        }
+        Object valor = datos.get("v");
+        filtro.setValorCursor("creditos".equals(filtro.getOrden()) ? ((Number) valor).intValue() : valor.toString());
+        filtro.setIdCursor(id.intValue());
+    }
+
+    private static Object valorOrden(Curso curso, String orden) {
+        return switch (orden) {
+            case "nombre" -> curso.getNombre();
+            case "creditos" -> curso.getCreditos();
+            case "ciclo" -> curso.getCiclo();
+            default -> curso.getCodigoCurso();
+        };
+    }
+
+    private List<Curso> cargarCatalogo(ClaveCatalogo clave) {
+        List<Curso> cursos = TODOS.equals(clave)
+                ? cursoRepository.findAll()
+                : cursoRepository.findByCarreraIdAndCiclo(clave.carreraId(), clave.ciclo());
+        List<Curso> copias = cursos.stream().map(CursoServiceImplement::copiarParaCache).toList();
+        copias.forEach(curso -> cursosPorCodigo.put(curso.getCodigoCurso(), curso));
+        return copias;
+    }
+
+    // Las caches se comparten entre hilos: guardan copias, nunca la entidad que puede seguir
+    // administrada por el contexto de persistencia de la transacción que la leyó
+    private static Curso copiar(Curso curso) {
+        Curso copia = new Curso();
+        BeanUtils.copyProperties(curso, copia);
+        return copia;
+    }
+
+    // Sin vacantesDisponibles: cambia con cada reserva y haría que el catálogo (y su ETag) se
+    // descartara justo en los picos de matrícula; las vacantes se leen con listarVacantes
+    private static Curso copiarParaCache(Curso curso) {
+        Curso copia = copiar(curso);
+        copia.setVacantesDisponibles(null);
+        return copia;
+    }
+
+    // Una sola consulta por intervalo aunque lleguen muchas lecturas: mientras un hilo la hace, los
+    // demás devuelven la lectura anterior; solo esperan si todavía no hay ninguna
+    private LecturaVacantes lecturaVacantes() {
+        LecturaVacantes actual = vacantes;
+        if (actual != null && System.nanoTime() - actual.nanos() < refrescoVacantesNanos) {
+            return actual;
+        }
+        if (actual != null && !recargaVacantes.tryLock()) {
+            return actual;
+        }
+        if (actual == null) {
+            recargaVacantes.lock();
+        }
+        try {
+            actual = vacantes;
+            if (actual == null || System.nanoTime() - actual.nanos() >= refrescoVacantesNanos) {
+                long inicio = System.nanoTime();
+                actual = new LecturaVacantes(inicio, List.copyOf(cursoRepository.findAllBy(CursoVacantes.class)));
+                vacantes = actual;
+            }
+            return actual;
+        } finally {
+            recargaVacantes.unlock();
+        }
+    }
+
+    private List<CursoResumen> cargarResumen(ClaveCatalogo clave) {
+        return List.copyOf(TODOS.equals(clave)
+                ? cursoRepository.findAllBy(CursoResumen.class)
+                : cursoRepository.findByCarreraIdAndCiclo(clave.carreraId(), clave.ciclo(), CursoResumen.class));
+    }
+
+    private void publicarCambio(List<Integer> usuarioIds) {
+        if (!usuarioIds.isEmpty()) {
+            eventPublisher.publishEvent(new ProyeccionesModificadasEvent(usuarioIds));
+        }
+    }
+
+    // Las ediciones de cursos son poco frecuentes: ante cualquier versión nueva se descarta todo.
+    // Quien ve la versión nueva espera a que se descarten las caches, así nunca se devuelve un
+    // listado anterior junto con el ETag nuevo
+    private void sincronizarCaches() {
+        long version = versionesCatalogo.version(Tabla.CURSOS);
+        if (version <= versionCaches) {
+            return;
+        }
+        sincronizacion.lock();
+        try {
+            if (version > versionCaches) {
+                descartarCaches();
+                versionCaches = version;
+            }
+        } finally {
+            sincronizacion.unlock();
+        }
+    }
+
+    private void descartarCaches() {
+        catalogo.invalidarTodo();
+        catalogoResumen.invalidarTodo();
+        cursosPorCodigo.invalidarTodo();
+    }
+}
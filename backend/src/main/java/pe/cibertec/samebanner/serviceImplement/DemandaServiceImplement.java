@@ -0,0 +1,215 @@
+package pe.cibertec.samebanner.serviceImplement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PreDestroy;
+import pe.cibertec.samebanner.dto.DemandaCursoDTO;
+import pe.cibertec.samebanner.dto.DiferenciaDemandaDTO;
+import pe.cibertec.samebanner.event.DemandaCursosEvent;
+import pe.cibertec.samebanner.repository.DemandaCursoRepository;
+import pe.cibertec.samebanner.service.IDemandaService;
+
+/**
+ * Demanda por curso sin GROUP BY en cada lectura: demanda_cursos guarda los totales y los cambios
+ * confirmados se acumulan en un LongAdder por curso hasta el siguiente volcado periódico.
+ * Las lecturas suman la tabla y lo pendiente, así que siempre reflejan lo confirmado.
+ *
+ * Los contadores viven en la memoria de esta instancia: con varias instancias, una que
+ * reconstruye (al iniciar o por POST /api/admin/demand/rebuild) cuenta también lo que las otras
+ * aún no volcaron y ese volumen termina sumado dos veces. En ese caso se debe desactivar
+ * samebanner.demanda.reconstruir-al-iniciar y reconstruir solo con una instancia en marcha.
+ */
+@Service
+public class DemandaServiceImplement implements IDemandaService {
+
+    private static final Logger log = LoggerFactory.getLogger(DemandaServiceImplement.class);
+
+    private final DemandaCursoRepository demandaCursoRepository;
+    private final boolean reconstruirAlIniciar;
+
+    // Las entradas no se eliminan: un hilo podría estar sumando sobre la que se quita
+    private final ConcurrentHashMap<Integer, LongAdder> pendientes = new ConcurrentHashMap<>();
+    // Un volcado y una reconstrucción no pueden mezclarse
+    private final ReentrantLock bloqueo = new ReentrantLock();
+    // Cada transacción que cambia la demanda tiene la lectura desde antes de su commit hasta sumar
+    // en memoria; con la escritura, todo lo confirmado ya está en los contadores y nada más confirma
+    private final ReentrantReadWriteLock confirmaciones = new ReentrantReadWriteLock();
+
+    public DemandaServiceImplement(DemandaCursoRepository demandaCursoRepository,
+            @Value("${samebanner.demanda.reconstruir-al-iniciar:true}") boolean reconstruirAlIniciar) {
+        this.demandaCursoRepository = demandaCursoRepository;
+        this.reconstruirAlIniciar = reconstruirAlIniciar;
+    }
+
+    // Se suma después del commit (un rollback no altera los contadores), pero el bloqueo se toma
+    // antes: una reconstrucción no puede contar en la base un cambio que aún no llegó a memoria
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void alModificarDemanda(DemandaCursosEvent evento) {
+        confirmaciones.readLock().lock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                sumar(evento);
+            } finally {
+                confirmaciones.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int estado) {
+                try {
+                    if (estado == STATUS_COMMITTED) {
+                        sumar(evento);
+                    }
+                } finally {
+                    confirmaciones.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    private void sumar(DemandaCursosEvent evento) {
+        evento.agregados().forEach(cursoId -> contador(cursoId).increment());
+        evento.retirados().forEach(cursoId -> contador(cursoId).decrement());
+    }
+
+    // Los incrementos de antes del arranque no están en memoria: se parte del agregado real
+    @EventListener(ApplicationReadyEvent.class)
+    public void alIniciar() {
+        if (!reconstruirAlIniciar) {
+            return;
+        }
+        try {
+            reconstruir();
+        } catch (RuntimeException e) {
+            log.error("No se pudo reconstruir la demanda por curso", e);
+        }
+    }
+
+    @Override
+    public List<DemandaCursoDTO> listarDemanda() {
+        // Con el bloqueo no se lee a mitad de un volcado (incrementos ya fuera de memoria pero aún no en la tabla)
+        bloqueo.lock();
+        try {
+            List<DemandaCursoDTO> demanda = demandaCursoRepository.listarConCursos();
+            for (DemandaCursoDTO curso : demanda) {
+                curso.setProyectados(curso.getProyectados() + pendiente(curso.getCursoId()));
+            }
+            return demanda;
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${samebanner.demanda.volcado-ms:5000}")
+    public void volcar() {
+        bloqueo.lock();
+        try {
+            // sumThenReset toma y pone en cero cada celda de forma atómica: no se pierden incrementos concurrentes
+            Map<Integer, Long> incrementos = new HashMap<>();
+            pendientes.forEach((cursoId, contador) -> {
+                long incremento = contador.sumThenReset();
+                if (incremento != 0) {
+                    incrementos.put(cursoId, incremento);
+                }
+            });
+            if (incrementos.isEmpty()) {
+                return;
+            }
+            try {
+                demandaCursoRepository.sumarEnLote(incrementos);
+            } catch (RuntimeException e) {
+                // Se devuelven a memoria para el siguiente volcado
+                incrementos.forEach((cursoId, incremento) -> contador(cursoId).add(incremento));
+                log.warn("No se pudo volcar la demanda por curso; se reintenta en el siguiente volcado", e);
+            }
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void alDetener() {
+        volcar();
+    }
+
+    @Override
+    public void reconstruir() {
+        bloqueo.lock();
+        try {
+            // El conteo se lee sin bloquear filas y la tabla se escribe ya sin las confirmaciones
+            // detenidas: una transacción que espera para confirmar puede tener filas de cursos
+            // bloqueadas que el INSERT en demanda_cursos necesita por su clave foránea
+            Map<Integer, Long> conteos = conConfirmacionesDetenidas(() -> {
+                Map<Integer, Long> reales = demandaCursoRepository.contarProyectados();
+                pendientes.values().forEach(LongAdder::reset);
+                return reales;
+            });
+            demandaCursoRepository.reemplazar(conteos);
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    @Override
+    public List<DiferenciaDemandaDTO> verificar() {
+        bloqueo.lock();
+        try {
+            // Conteo y contadores del mismo instante: un commit entre ambas lecturas no es una diferencia
+            Map<Integer, Long> reales = new HashMap<>();
+            List<DemandaCursoDTO> demanda = conConfirmacionesDetenidas(() -> {
+                reales.putAll(demandaCursoRepository.contarProyectados());
+                return listarDemanda();
+            });
+            List<DiferenciaDemandaDTO> diferencias = new ArrayList<>();
+            for (DemandaCursoDTO curso : demanda) {
+                long real = reales.getOrDefault(curso.getCursoId(), 0L);
+                if (curso.getProyectados() != real) {
+                    diferencias.add(new DiferenciaDemandaDTO(curso.getCursoId(), curso.getProyectados(), real));
+                }
+            }
+            return diferencias;
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    private <T> T conConfirmacionesDetenidas(Supplier<T> accion) {
+        confirmaciones.writeLock().lock();
+        try {
+            return accion.get();
+        } finally {
+            confirmaciones.writeLock().unlock();
+        }
+    }
+
+    private LongAdder contador(Integer cursoId) {
+        return pendientes.computeIfAbsent(cursoId, id -> new LongAdder());
+    }
+
+    private long pendiente(Integer cursoId) {
+        LongAdder contador = pendientes.get(cursoId);
+        return contador != null ? contador.sum() : 0;
+    }
+}
@@ -0,0 +1,119 @@
+package pe.cibertec.samebanner.serviceImplement;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import pe.cibertec.samebanner.service.IExportacionService;
+import pe.cibertec.samebanner.util.EscritorExportacion;
+import pe.cibertec.samebanner.util.FormatoExportacion;
+
+/**
+ * Exportaciones por JDBC sin pasar por entidades: las filas se leen en streaming y se escriben
+ * una a una en la respuesta, así la memoria no depende de cuántas filas haya.
+ */
+@Service
+public class ExportacionServiceImplement implements IExportacionService {
+
+    private static final String CURSOS_SQL = "SELECT id, codigo_curso AS codigoCurso, nombre, descripcion, creditos, ciclo,"
+            + " carrera_id AS carreraId, area_conocimiento AS areaConocimiento, modalidad, sede, turno,"
+            + " vacantes_totales AS vacantesTotales, vacantes_disponibles AS vacantesDisponibles, docente_id AS docenteId,"
+            + " horario_dias AS horarioDias, hora_inicio AS horaInicio, hora_fin AS horaFin, aula,"
+            + " enlace_virtual AS enlaceVirtual, activo, fecha_creacion AS fechaCreacion"
+            + " FROM cursos ORDER BY id";
+
+    // Se recorre proyeccion_cursos por su clave primaria y el resto se une por PK: no hay ordenamiento en disco
+    private static final String PROYECCIONES_SQL = "SELECT p.usuario_id AS usuarioId, p.id AS proyeccionId,"
+            + " p.ciclo_proyectado AS cicloProyectado, c.id AS cursoId, c.codigo_curso AS codigoCurso,"
+            + " c.nombre AS nombreCurso, c.creditos, pc.fecha_agregado AS fechaAgregado"
+            + " FROM proyeccion_cursos pc"
+            + " JOIN proyecciones p ON p.id = pc.proyeccion_id"
+            + " JOIN cursos c ON c.id = pc.curso_id"
+            + " ORDER BY pc.id";
+
+    // El conteo usa idx_proyeccion_cursos_curso; el resultado tiene una fila por curso
+    private static final String DEMANDA_SQL = "SELECT c.id AS cursoId, c.codigo_curso AS codigoCurso, c.nombre,"
+            + " c.ciclo, c.carrera_id AS carreraId, c.vacantes_totales AS vacantesTotales,"
+            + " c.vacantes_disponibles AS vacantesDisponibles, COUNT(pc.id) AS proyectados"
+            + " FROM cursos c LEFT JOIN proyeccion_cursos pc ON pc.curso_id = c.id"
+            + " GROUP BY c.id, c.codigo_curso, c.nombre, c.ciclo, c.carrera_id, c.vacantes_totales, c.vacantes_disponibles"
+            + " ORDER BY c.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    // Integer.MIN_VALUE hace que MySQL Connector/J entregue las filas una a una en lugar de cargarlas todas;
+    // con useCursorFetch=true en la URL se puede usar un valor positivo
+    public ExportacionServiceImplement(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            @Value("${samebanner.exportacion.fetch-size:" + Integer.MIN_VALUE + "}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void exportarCursos(FormatoExportacion formato, OutputStream salida) throws IOException {
+        exportar(CURSOS_SQL, formato, salida);
+    }
+
+    @Override
+    public void exportarProyecciones(FormatoExportacion formato, OutputStream salida) throws IOException {
+        exportar(PROYECCIONES_SQL, formato, salida);
+    }
+
+    @Override
+    public void exportarDemanda(FormatoExportacion formato, OutputStream salida) throws IOException {
+        exportar(DEMANDA_SQL, formato, salida);
+    }
+
+    private void exportar(String sql, FormatoExportacion formato, OutputStream salida) throws IOException {
+        EscritorExportacion escritor = EscritorExportacion.para(formato, salida, objectMapper.getFactory());
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) conexion -> {
+                try (PreparedStatement ps = conexion.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY)) {
+                    ps.setFetchSize(fetchSize);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        escribir(rs, escritor, ps);
+                    }
+                }
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        escritor.terminar();
+    }
+
+    private static void escribir(ResultSet rs, EscritorExportacion escritor, PreparedStatement ps)
+            throws SQLException {
+        try {
+            ResultSetMetaData metadatos = rs.getMetaData();
+            String[] columnas = new String[metadatos.getColumnCount()];
+            for (int i = 0; i < columnas.length; i++) {
+                columnas[i] = metadatos.getColumnLabel(i + 1);
+            }
+            escritor.encabezado(columnas);
+            while (rs.next()) {
+                escritor.fila(rs);
+            }
+        } catch (IOException e) {
+            // El cliente cortó la descarga: con streaming, cerrar el ResultSet leería las filas restantes,
+            // así que primero se cancela la consulta
+            ps.cancel();
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package pe.cibertec.samebanner.serviceImplement;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import pe.cibertec.samebanner.dto.ErrorImportacionDTO;
+import pe.cibertec.samebanner.dto.ResultadoImportacionDTO;
+import pe.cibertec.samebanner.service.ICursoService;
+import pe.cibertec.samebanner.service.IImportacionService;
+import pe.cibertec.samebanner.util.AsignadorIds;
+import pe.cibertec.samebanner.util.BloqueHorario;
+import pe.cibertec.samebanner.util.FormatoExportacion;
+import pe.cibertec.samebanner.util.LectorImportacion;
+
+/**
+ * Carga masiva de cursos. El archivo se lee fila por fila; las válidas se acumulan hasta completar
+ * un lote y se insertan con un solo batchUpdate (con rewriteBatchedStatements el driver lo envía
+ * como un INSERT de varias filas). Carreras y docentes se resuelven por código con mapas cargados
+ * una vez al inicio, y los códigos de curso ya existentes se rechazan antes de llegar a la base.
+ *
+ * Cada lote se confirma por separado en su propia transacción: si la carga se corta, lo ya insertado
+ * permanece y el informe indica qué filas faltaron. Un lote que falla se deshace completo antes de
+ * repetirse fila por fila, así ninguna fila queda insertada dos veces.
+ */
+@Service
+public class ImportacionServiceImplement implements IImportacionService {
+
+    private static final String INSERTAR_SQL = "INSERT INTO cursos (id, codigo_curso, nombre, descripcion, creditos, ciclo,"
+            + " carrera_id, area_conocimiento, modalidad, sede, turno, vacantes_totales, vacantes_disponibles, docente_id,"
+            + " horario_dias, hora_inicio, hora_fin, aula, enlace_virtual, activo, fecha_creacion)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final Pattern CICLO = Pattern.compile("Ciclo_(0[1-9]|10)");
+    private static final Set<String> MODALIDADES = Set.of("presencial", "virtual");
+    private static final Set<String> TURNOS = Set.of("manana", "tarde", "noche");
+
+    // Fila ya convertida a los parámetros del INSERT
+    private record FilaCurso(long fila, String codigoCurso, Object[] parametros) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ICursoService cursoService;
+    private final AsignadorIds asignadorIds;
+    private final TransactionTemplate transaccion;
+    private final int tamanoLote;
+    private final int maxErrores;
+
+    public ImportacionServiceImplement(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, ICursoService cursoService,
+            AsignadorIds asignadorIds, PlatformTransactionManager transactionManager,
+            @Value("${samebanner.importacion.tamano-lote:500}") int tamanoLote,
+            @Value("${samebanner.importacion.max-errores:1000}") int maxErrores) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.cursoService = cursoService;
+        this.asignadorIds = asignadorIds;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.tamanoLote = tamanoLote;
+        this.maxErrores = maxErrores;
+    }
+
+    @Override
+    public ResultadoImportacionDTO importarCursos(FormatoExportacion formato, InputStream entrada) throws IOException {
+        long inicio = System.nanoTime();
+        ResultadoImportacionDTO resultado = new ResultadoImportacionDTO();
+
+        Map<String, Integer> carreras = codigos("SELECT codigo_carrera, id FROM carreras");
+        Map<String, Integer> docentes = codigos("SELECT codigo_docente, id FROM docentes");
+        Set<String> codigosCursos = new HashSet<>(jdbcTemplate.queryForList("SELECT codigo_curso FROM cursos", String.class));
+        Timestamp fechaCreacion = Timestamp.valueOf(LocalDateTime.now());
+
+        // Si el archivo se corta a mitad de la lectura, los lotes ya confirmados igual cambian la versión del catálogo
+        try {
+            LectorImportacion lector = LectorImportacion.para(formato, entrada, objectMapper);
+            List<FilaCurso> lote = new ArrayList<>(tamanoLote);
+            while (true) {
+                Map<String, String> valores;
+                try {
+                    valores = lector.siguiente();
+                } catch (IllegalArgumentException e) {
+                    resultado.setFilasLeidas(resultado.getFilasLeidas() + 1);
+                    rechazar(resultado, lector.getFila(), null, e.getMessage());
+                    continue;
+                }
+                if (valores == null) {
+                    break;
+                }
+                resultado.setFilasLeidas(resultado.getFilasLeidas() + 1);
+
+                String codigoCurso = valores.get("codigocurso");
+                try {
+                    Object[] parametros = convertir(valores, carreras, docentes, fechaCreacion);
+                    // Los códigos repetidos dentro del mismo archivo también se rechazan
+                    if (!codigosCursos.add(codigoCurso)) {
+                        throw new IllegalArgumentException("El código de curso ya existe");
+                    }
+                    lote.add(new FilaCurso(lector.getFila(), codigoCurso, parametros));
+                } catch (IllegalArgumentException e) {
+                    rechazar(resultado, lector.getFila(), codigoCurso, e.getMessage());
+                }
+
+                if (lote.size() >= tamanoLote) {
+                    insertar(lote, resultado);
+                }
+            }
+            insertar(lote, resultado);
+        } finally {
+            if (resultado.getInsertadas() > 0) {
+                cursoService.recargarCatalogo();
+            }
+        }
+
+        long nanos = System.nanoTime() - inicio;
+        resultado.setMilisegundos(nanos / 1_000_000);
+        resultado.setFilasPorSegundo(nanos > 0 ? resultado.getFilasLeidas() * 1_000_000_000L / nanos : 0);
+        return resultado;
+    }
+
+    private void insertar(List<FilaCurso> lote, ResultadoImportacionDTO resultado) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        resultado.setLotes(resultado.getLotes() + 1);
+        // Ids reservados de la misma secuencia que usa Hibernate para Curso
+        int primerId = asignadorIds.reservar("cursos", lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            lote.get(i).parametros()[0] = primerId + i;
+        }
+        try {
+            // Sin rewriteBatchedStatements el driver envía un INSERT por fila; fuera de una transacción
+            // las anteriores a la que falla quedarían confirmadas
+            transaccion.executeWithoutResult(estado ->
+                    jdbcTemplate.batchUpdate(INSERTAR_SQL, lote.stream().map(FilaCurso::parametros).toList()));
+            resultado.setInsertadas(resultado.getInsertadas() + lote.size());
+        } catch (DataAccessException e) {
+            // El lote falló completo (p. ej. un código insertado por otra vía mientras tanto):
+            // se repite fila por fila para insertar las válidas e informar cuál falló
+            for (FilaCurso fila : lote) {
+                try {
+                    jdbcTemplate.update(INSERTAR_SQL, fila.parametros());
+                    resultado.setInsertadas(resultado.getInsertadas() + 1);
+                } catch (DataAccessException errorFila) {
+                    rechazar(resultado, fila.fila(), fila.codigoCurso(), errorFila.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        lote.clear();
+    }
+
+    private void rechazar(ResultadoImportacionDTO resultado, long fila, String codigoCurso, String mensaje) {
+        resultado.setRechazadas(resultado.getRechazadas() + 1);
+        if (resultado.getErrores().size() < maxErrores) {
+            resultado.getErrores().add(new ErrorImportacionDTO(fila, codigoCurso, mensaje));
+        } else {
+            resultado.setErroresOmitidos(resultado.getErroresOmitidos() + 1);
+        }
+    }
+
+    private Object[] convertir(Map<String, String> valores, Map<String, Integer> carreras,
+            Map<String, Integer> docentes, Timestamp fechaCreacion) {
+        String codigoCurso = texto(valores, "codigocurso", 20, true);
+        String nombre = texto(valores, "nombre", 150, true);
+        Integer creditos = entero(valores, "creditos", true);
+        if (creditos <= 0) {
+            throw new IllegalArgumentException("creditos debe ser mayor que 0");
+        }
+        String ciclo = texto(valores, "ciclo", 10, true);
+        if (!CICLO.matcher(ciclo).matches()) {
+            throw new IllegalArgumentException("ciclo inválido: " + ciclo + " (formato Ciclo_01 a Ciclo_10)");
+        }
+
+        Integer carreraId = referencia(valores, "codigocarrera", "carreraid", carreras, "la carrera");
+        if (carreraId == null) {
+            throw new IllegalArgumentException("Falta codigoCarrera");
+        }
+        Integer docenteId = referencia(valores, "codigodocente", "docenteid", docentes, "el docente");
+
+        String modalidad = valores.get("modalidad") != null ? valores.get("modalidad").toLowerCase() : "presencial";
+        if (!MODALIDADES.contains(modalidad)) {
+            throw new IllegalArgumentException("modalidad inválida: " + modalidad);
+        }
+        String turno = texto(valores, "turno", 10, true).toLowerCase();
+        if (!TURNOS.contains(turno)) {
+            throw new IllegalArgumentException("turno inválido: " + turno);
+        }
+
+        Integer vacantesTotales = entero(valores, "vacantestotales", true);
+        Integer vacantesDisponibles = entero(valores, "vacantesdisponibles", false);
+        if (vacantesDisponibles == null) {
+            vacantesDisponibles = vacantesTotales;
+        }
+        if (vacantesTotales < 0 || vacantesDisponibles < 0 || vacantesDisponibles > vacantesTotales) {
+            throw new IllegalArgumentException("Las vacantes deben cumplir 0 <= disponibles <= totales");
+        }
+
+        LocalTime horaInicio = hora(valores, "horainicio");
+        LocalTime horaFin = hora(valores, "horafin");
+        if (!horaFin.isAfter(horaInicio)) {
+            throw new IllegalArgumentException("horaFin debe ser posterior a horaInicio");
+        }
+        String horarioDias = texto(valores, "horariodias", 50, false);
+        BloqueHorario.validarDias(horarioDias);
+
+        String activo = valores.get("activo");
+        // La primera posición es el id, que se asigna al insertar el lote
+        return new Object[] {
+                null,
+                codigoCurso,
+                nombre,
+                valores.get("descripcion"),
+                creditos,
+                ciclo,
+                carreraId,
+                texto(valores, "areaconocimiento", 100, false),
+                modalidad,
+                texto(valores, "sede", 100, false),
+                turno,
+                vacantesTotales,
+                vacantesDisponibles,
+                docenteId,
+                horarioDias,
+                horaInicio,
+                horaFin,
+                texto(valores, "aula", 20, false),
+                texto(valores, "enlacevirtual", 255, false),
+                activo == null || Boolean.parseBoolean(activo) || "1".equals(activo),
+                fechaCreacion };
+    }
+
+    // Se acepta el código (codigoCarrera) o el id (carreraId); el código debe existir en el mapa
+    private static Integer referencia(Map<String, String> valores, String columnaCodigo, String columnaId,
+            Map<String, Integer> ids, String entidad) {
+        String codigo = valores.get(columnaCodigo);
+        if (codigo != null) {
+            Integer id = ids.get(codigo.trim());
+            if (id == null) {
+                throw new IllegalArgumentException("No existe " + entidad + " con código " + codigo);
+            }
+            return id;
+        }
+        Integer id = entero(valores, columnaId, false);
+        if (id != null && !ids.containsValue(id)) {
+            throw new IllegalArgumentException("No existe " + entidad + " con id " + id);
+        }
+        return id;
+    }
+
+    private static String texto(Map<String, String> valores, String columna, int largoMaximo, boolean requerido) {
+        String valor = valores.get(columna);
+        if (valor == null || valor.isBlank()) {
+            if (requerido) {
+                throw new IllegalArgumentException("Falta " + columna);
+            }
+            return null;
+        }
+        valor = valor.trim();
+        if (valor.length() > largoMaximo) {
+            throw new IllegalArgumentException(columna + " supera " + largoMaximo + " caracteres");
+        }
+        return valor;
+    }
+
+    private static Integer entero(Map<String, String> valores, String columna, boolean requerido) {
+        String valor = texto(valores, columna, 11, requerido);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(columna + " no es un número: " + valor);
+        }
+    }
+
+    private static LocalTime hora(Map<String, String> valores, String columna) {
+        String valor = texto(valores, columna, 8, true);
+        try {
+            return LocalTime.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(columna + " no es una hora válida (HH:mm): " + valor);
+        }
+    }
+
+    private Map<String, Integer> codigos(String sql) {
+        Map<String, Integer> ids = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            if (rs.getString(1) != null) {
+                ids.put(rs.getString(1), rs.getInt(2));
+            }
+        });
+        return ids;
+    }
+}
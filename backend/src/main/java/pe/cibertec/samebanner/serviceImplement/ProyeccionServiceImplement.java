@@ -0,0 +1,205 @@
+package pe.cibertec.samebanner.serviceImplement;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import pe.cibertec.samebanner.dto.ConflictoHorarioDTO;
+import pe.cibertec.samebanner.event.DemandaCursosEvent;
+import pe.cibertec.samebanner.event.ProyeccionesModificadasEvent;
+import pe.cibertec.samebanner.exception.ConflictoHorarioException;
+import pe.cibertec.samebanner.model.Curso;
+import pe.cibertec.samebanner.model.Proyeccion;
+import pe.cibertec.samebanner.model.ProyeccionCurso;
+import pe.cibertec.samebanner.repository.ProyeccionCursoRepository;
+import pe.cibertec.samebanner.repository.ProyeccionRepository;
+import pe.cibertec.samebanner.service.IConflictoHorarioService;
+import pe.cibertec.samebanner.service.ICursoService;
+import pe.cibertec.samebanner.service.IProyeccionService;
+import pe.cibertec.samebanner.service.IVacanteService;
+
+@Service
+public class ProyeccionServiceImplement implements IProyeccionService {
+
+    private final ProyeccionRepository proyeccionRepository;
+    private final ProyeccionCursoRepository proyeccionCursoRepository;
+    private final ICursoService cursoService;
+    private final IConflictoHorarioService conflictoHorarioService;
+    private final IVacanteService vacanteService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean reservarVacantes;
+
+    public ProyeccionServiceImplement(
+            ProyeccionRepository proyeccionRepository,
+            ProyeccionCursoRepository proyeccionCursoRepository,
+            ICursoService cursoService,
+            IConflictoHorarioService conflictoHorarioService,
+            IVacanteService vacanteService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${samebanner.proyecciones.reservar-vacantes:true}") boolean reservarVacantes) {
+        this.proyeccionRepository = proyeccionRepository;
+        this.proyeccionCursoRepository = proyeccionCursoRepository;
+        this.cursoService = cursoService;
+        this.conflictoHorarioService = conflictoHorarioService;
+        this.vacanteService = vacanteService;
+        this.eventPublisher = eventPublisher;
+        this.reservarVacantes = reservarVacantes;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Proyeccion> obtenerProyeccion(Integer usuarioId) {
+        return proyeccionRepository.findByUsuarioId(usuarioId);
+    }
+
+    @Override
+    @Transactional
+    public Proyeccion guardarProyeccion(Integer usuarioId, String cicloProyectado, List<String> codigosCursos) {
+        Set<String> solicitados = codigosCursos == null ? new LinkedHashSet<>() : new LinkedHashSet<>(codigosCursos);
+
+        Optional<Proyeccion> existente = proyeccionRepository.findByUsuarioId(usuarioId);
+        if (existente.isEmpty()) {
+            List<Curso> cursos = buscarCursos(solicitados);
+            validarHorario(cursos);
+            if (reservarVacantes) {
+                vacanteService.reservarVacantes(cursos);
+            }
+
+            Proyeccion proyeccion = new Proyeccion();
+            proyeccion.setUsuarioId(usuarioId);
+            proyeccion.setCicloProyectado(cicloProyectado);
+            proyeccion = proyeccionRepository.save(proyeccion);
+
+            proyeccionCursoRepository.insertarEnLote(proyeccion, cursos);
+            eventPublisher.publishEvent(new ProyeccionesModificadasEvent(List.of(usuarioId)));
+            publicarDemanda(cursos, List.of());
+            return proyeccion;
+        }
+
+        // Comparar los códigos solicitados con los actuales: solo se insertan los nuevos
+        // y solo se eliminan los que ya no están
+        Proyeccion proyeccion = existente.get();
+        Set<String> actuales = codigosActuales(proyeccion);
+
+        List<String> agregar = solicitados.stream().filter(codigo -> !actuales.contains(codigo)).toList();
+        List<String> quitar = actuales.stream().filter(codigo -> !solicitados.contains(codigo)).toList();
+
+        return aplicarCambios(proyeccion, cicloProyectado, agregar, quitar);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Proyeccion> modificarProyeccion(Integer usuarioId, String cicloProyectado,
+            List<String> agregar, List<String> quitar) {
+        Optional<Proyeccion> existente = proyeccionRepository.findByUsuarioId(usuarioId);
+        if (existente.isEmpty()) {
+            if (cicloProyectado == null) {
+                return Optional.empty();
+            }
+            return Optional.of(guardarProyeccion(usuarioId, cicloProyectado, agregar));
+        }
+
+        Proyeccion proyeccion = existente.get();
+        Set<String> actuales = codigosActuales(proyeccion);
+
+        List<String> nuevos = agregar == null ? List.of()
+                : agregar.stream().distinct().filter(codigo -> !actuales.contains(codigo)).toList();
+        List<String> retirados = quitar == null ? List.of()
+                : quitar.stream().distinct().filter(actuales::contains).toList();
+
+        return Optional.of(aplicarCambios(proyeccion,
+                cicloProyectado != null ? cicloProyectado : proyeccion.getCicloProyectado(),
+                nuevos, retirados));
+    }
+
+    private Proyeccion aplicarCambios(Proyeccion proyeccion, String cicloProyectado,
+            List<String> agregar, List<String> quitar) {
+        boolean cambioCiclo = !cicloProyectado.equals(proyeccion.getCicloProyectado());
+        if (!cambioCiclo && agregar.isEmpty() && quitar.isEmpty()) {
+            return proyeccion;
+        }
+
+        // El ciclo y la fecha se actualizan en la misma fila, sin recrear la proyección
+        proyeccion.setCicloProyectado(cicloProyectado);
+        proyeccion.setFechaActualizacion(LocalDateTime.now());
+
+        // Los cursos nuevos y el horario resultante se validan antes de tocar las filas existentes
+        List<Curso> cursosNuevos = buscarCursos(agregar);
+
+        List<ProyeccionCurso> retirados = proyeccion.getProyeccionCursos().stream()
+                .filter(pc -> quitar.contains(pc.getCurso().getCodigoCurso()))
+                .toList();
+
+        List<Curso> cursosFinales = new ArrayList<>();
+        proyeccion.getProyeccionCursos().stream()
+                .filter(pc -> !quitar.contains(pc.getCurso().getCodigoCurso()))
+                .forEach(pc -> cursosFinales.add(pc.getCurso()));
+        cursosFinales.addAll(cursosNuevos);
+        validarHorario(cursosFinales);
+
+        // Cada curso de la proyección ocupa una vacante: se reservan las nuevas y se devuelven las retiradas
+        if (reservarVacantes) {
+            vacanteService.reservarVacantes(cursosNuevos);
+            vacanteService.liberarVacantes(retirados.stream().map(ProyeccionCurso::getCurso).toList());
+        }
+        proyeccionCursoRepository.eliminarEnLote(proyeccion, retirados);
+        proyeccionCursoRepository.insertarEnLote(proyeccion, cursosNuevos);
+
+        // La vista del dashboard y la demanda por curso se actualizan cuando la transacción confirma
+        eventPublisher.publishEvent(new ProyeccionesModificadasEvent(List.of(proyeccion.getUsuarioId())));
+        publicarDemanda(cursosNuevos, retirados.stream().map(ProyeccionCurso::getCurso).toList());
+        return proyeccion;
+    }
+
+    private void publicarDemanda(List<Curso> agregados, List<Curso> retirados) {
+        if (!agregados.isEmpty() || !retirados.isEmpty()) {
+            eventPublisher.publishEvent(new DemandaCursosEvent(
+                    agregados.stream().map(Curso::getId).toList(),
+                    retirados.stream().map(Curso::getId).toList()));
+        }
+    }
+
+    private void validarHorario(List<Curso> cursos) {
+        List<ConflictoHorarioDTO> conflictos = conflictoHorarioService.detectarConflictos(cursos);
+        if (!conflictos.isEmpty()) {
+            throw new ConflictoHorarioException(conflictos);
+        }
+    }
+
+    private Set<String> codigosActuales(Proyeccion proyeccion) {
+        return proyeccion.getProyeccionCursos().stream()
+                .map(pc -> pc.getCurso().getCodigoCurso())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private List<Curso> buscarCursos(Iterable<String> codigosCursos) {
+        Set<String> codigos = new LinkedHashSet<>();
+        codigosCursos.forEach(codigos::add);
+        if (codigos.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Índice de códigos en memoria; los faltantes se buscan en una sola consulta IN (...)
+        Map<String, Curso> cursosPorCodigo = cursoService.buscarCursosPorCodigo(codigos);
+
+        List<Curso> cursos = new ArrayList<>(codigos.size());
+        for (String codigoCurso : codigos) {
+            Curso curso = cursosPorCodigo.get(codigoCurso);
+            if (curso == null) {
+                throw new RuntimeException("Curso no encontrado: " + codigoCurso);
+            }
+            cursos.add(curso);
+        }
+        return cursos;
+    }
+}
@@ -1,43 +1,97 @@
 package pe.cibertec.samebanner.serviceImplement;
 
-import java.util.Collections;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import pe.cibertec.samebanner.dto.EstadisticasCacheDTO;
+import pe.cibertec.samebanner.event.UsuarioModificadoEvent;
 import pe.cibertec.samebanner.model.Usuario;
 import pe.cibertec.samebanner.repository.UsuarioRepository;
+import pe.cibertec.samebanner.util.CacheLRU;
 
 
 
 @Service
-public class UserServiceImplement implements UserDetailsService {
+public class UserServiceImplement implements UserDetailsService, UserDetailsPasswordService {
     
-	@Autowired
-	private UsuarioRepository usuarioRepository;
+	private final UsuarioRepository usuarioRepository;
+	private final ApplicationEventPublisher eventos;
+
+	// Usuarios encontrados y emails inexistentes; los aciertos son consultas por email evitadas en cada login
+	private final CacheLRU<String, Usuario> usuarios;
+	private final CacheLRU<String, Boolean> emailsDesconocidos;
+
+	public UserServiceImplement(UsuarioRepository usuarioRepository, ApplicationEventPublisher eventos,
+			@Value("${samebanner.cache.usuarios.max-entradas:10000}") int maxEntradasUsuarios,
+			@Value("${samebanner.cache.usuarios.ttl-segundos:60}") long ttlUsuarios,
+			@Value("${samebanner.cache.emails-desconocidos.max-entradas:10000}") int maxEntradasDesconocidos,
+			@Value("${samebanner.cache.emails-desconocidos.ttl-segundos:30}") long ttlDesconocidos) {
+		this.usuarioRepository = usuarioRepository;
+		this.eventos = eventos;
+		this.usuarios = new CacheLRU<>("usuarios", maxEntradasUsuarios, Duration.ofSeconds(ttlUsuarios));
+		this.emailsDesconocidos = new CacheLRU<>("emailsDesconocidos", maxEntradasDesconocidos, Duration.ofSeconds(ttlDesconocidos));
+	}
 
 	@Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         //System.out.println("UserDetailImplement: Intentando cargar usuario con email: " + email);
 
-        // Busca el usuario por email
-        Usuario usuario = usuarioRepository.findOneByEmail(email)
-                                         .orElseThrow(() -> {
-         //                                    System.err.println("UserDetailImplement: Usuario no encontrado: " + email);
-                                             return new UsernameNotFoundException("Usuario no encontrado con email: " + email);
-                                         });
+        // Primero la cache de usuarios; la de emails inexistentes solo se consulta cuando esta falla,
+        // así un login correcto no suma un fallo en emailsDesconocidos
+        Usuario usuario = usuarios.get(email, clave -> emailsDesconocidos.get(clave) != null ? null : buscarPorEmail(clave));
+        if (usuario == null) {
+            //System.err.println("UserDetailImplement: Usuario no encontrado: " + email);
+            throw new UsernameNotFoundException("Usuario no encontrado con email: " + email);
+        }
 
         //System.out.println("UserDetailImplement: Usuario encontrado: " + usuario.getEmail());
         //System.out.println("UserDetailImplement: Password hash del usuario: " + usuario.getPassword());
 
         
-        return new User(usuario.getEmail(),
-                        usuario.getPassword(), 
-                        Collections.emptyList()); 
+        // Se conserva el usuario completo para poner su id y rol en el JWT
+        return new UserDetailImplement(usuario); 
     }
+
+	// Los intentos repetidos con un email inexistente no vuelven a consultar MySQL
+	private Usuario buscarPorEmail(String email) {
+		Usuario usuario = usuarioRepository.findOneByEmail(email).orElse(null);
+		if (usuario == null) {
+			emailsDesconocidos.put(email, Boolean.TRUE);
+		}
+		return usuario;
+	}
+
+	// Spring Security lo invoca tras un login exitoso cuando el hash guardado usa un costo de BCrypt menor al configurado
+	@Override
+	public UserDetails updatePassword(UserDetails user, String newPassword) {
+		// Se trabaja sobre una copia: el Usuario del UserDetails es la instancia que guarda la cache
+		Usuario usuario = new Usuario();
+		BeanUtils.copyProperties(((UserDetailImplement) user).getUsuario(), usuario);
+		usuario.setPassword(newPassword);
+		usuario.setFechaActualizacion(LocalDateTime.now());
+		Usuario actualizado = usuarioRepository.save(usuario);
+		invalidarUsuario(actualizado.getEmail());
+		eventos.publishEvent(new UsuarioModificadoEvent(actualizado.getId(), actualizado.getEmail()));
+		return new UserDetailImplement(actualizado);
+	}
+
+	// Se llama al crear o modificar una cuenta para que el siguiente login vea el cambio
+	public void invalidarUsuario(String email) {
+		usuarios.invalidar(email);
+		emailsDesconocidos.invalidar(email);
+	}
+
+	public List<EstadisticasCacheDTO> estadisticasCache() {
+		return List.of(usuarios.estadisticas(), emailsDesconocidos.estadisticas());
+	}
 }
@@ -1,23 +1,45 @@
 package pe.cibertec.samebanner.serviceImplement;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import pe.cibertec.samebanner.dto.EstadisticasCacheDTO;
 import pe.cibertec.samebanner.dto.UsuarioRegistroDTO;
+import pe.cibertec.samebanner.event.UsuarioModificadoEvent;
 import pe.cibertec.samebanner.model.Usuario;
 import pe.cibertec.samebanner.repository.UsuarioRepository;
+import pe.cibertec.samebanner.security.EjecutorHash;
+import pe.cibertec.samebanner.security.UsuarioPrincipal;
 import pe.cibertec.samebanner.service.IUsuarioService;
+import pe.cibertec.samebanner.util.CacheLRU;
 
 @Service
 public class UsuarioServiceImplement implements IUsuarioService {
 
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final EjecutorHash ejecutorHash;
+    private final UserServiceImplement userService;
+    private final CacheLRU<Integer, Usuario> perfiles;
 
-    public UsuarioServiceImplement(UsuarioRepository usuarioRepository, PasswordEncoder passwordEncoder) {
+    public UsuarioServiceImplement(UsuarioRepository usuarioRepository, PasswordEncoder passwordEncoder,
+            EjecutorHash ejecutorHash, UserServiceImplement userService,
+            @Value("${samebanner.cache.perfiles.max-entradas:1000}") int maxEntradasPerfiles,
+            @Value("${samebanner.cache.perfiles.ttl-segundos:60}") long ttlPerfiles) {
         this.usuarioRepository = usuarioRepository;
         this.passwordEncoder = passwordEncoder;
+        this.ejecutorHash = ejecutorHash;
+        this.userService = userService;
+        this.perfiles = new CacheLRU<>("perfiles", maxEntradasPerfiles, Duration.ofSeconds(ttlPerfiles));
     }
 
     @Override
@@ -29,7 +51,7 @@ public class UsuarioServiceImplement implements IUsuarioService {
         Usuario nuevoUsuario = new Usuario();
         nuevoUsuario.setNombre(registroDTO.getNombre());
         nuevoUsuario.setEmail(registroDTO.getEmail());
-        nuevoUsuario.setPassword(passwordEncoder.encode(registroDTO.getPassword()));
+        nuevoUsuario.setPassword(ejecutorHash.ejecutar(() -> passwordEncoder.encode(registroDTO.getPassword())));
         nuevoUsuario.setFechaCreacion(LocalDateTime.now());
        
 
@@ -41,6 +63,39 @@ public class UsuarioServiceImplement implements IUsuarioService {
         nuevoUsuario.setRol(registroDTO.getRol());
         // Fin de las líneas añadidas
 
-        return usuarioRepository.save(nuevoUsuario);
+        Usuario guardado = usuarioRepository.save(nuevoUsuario);
+        // El email pudo quedar en la cache de emails desconocidos por un login previo
+        userService.invalidarUsuario(guardado.getEmail());
+        return guardado;
+    }
+
+    @Override
+    public Integer obtenerIdUsuario(Authentication authentication) {
+        // El id viaja en el JWT; solo los tokens emitidos antes de incluirlo requieren consultar por email
+        if (authentication.getPrincipal() instanceof UsuarioPrincipal principal && principal.id() != null) {
+            return principal.id();
+        }
+        return usuarioRepository.findOneByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"))
+                .getId();
+    }
+
+    @Override
+    public Optional<Usuario> obtenerPerfil(Integer id) {
+        return Optional.ofNullable(perfiles.get(id, clave -> usuarioRepository.findById(clave).orElse(null)));
+    }
+
+    // Los cambios hechos desde esta aplicación se ven en seguida; los hechos directamente en la
+    // base de datos, cuando vence el ttl de la entrada
+    @EventListener
+    public void alModificarUsuario(UsuarioModificadoEvent evento) {
+        perfiles.invalidar(evento.id());
+    }
+
+    @Override
+    public List<EstadisticasCacheDTO> estadisticasCache() {
+        List<EstadisticasCacheDTO> estadisticas = new ArrayList<>(userService.estadisticasCache());
+        estadisticas.add(perfiles.estadisticas());
+        return estadisticas;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package pe.cibertec.samebanner.serviceImplement;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import pe.cibertec.samebanner.exception.SinVacantesException;
+import pe.cibertec.samebanner.model.Curso;
+import pe.cibertec.samebanner.repository.CursoRepository;
+import pe.cibertec.samebanner.service.IVacanteService;
+
+@Service
+public class VacanteServiceImplement implements IVacanteService {
+
+    private final CursoRepository cursoRepository;
+
+    public VacanteServiceImplement(CursoRepository cursoRepository) {
+        this.cursoRepository = cursoRepository;
+    }
+
+    // Todo o nada: si algún curso no tiene vacante se lanza la excepción y la transacción
+    // que llama deshace los descuentos ya aplicados
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reservarVacantes(List<Curso> cursos) {
+        List<Curso> ordenados = ordenarPorId(cursos);
+        int[] filas = cursoRepository.descontarVacantes(ordenados.stream().map(Curso::getId).toList());
+
+        List<String> sinVacantes = new ArrayList<>();
+        for (int i = 0; i < filas.length; i++) {
+            if (filas[i] == 0) {
+                sinVacantes.add(ordenados.get(i).getCodigoCurso());
+            }
+        }
+        if (!sinVacantes.isEmpty()) {
+            throw new SinVacantesException(sinVacantes);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void liberarVacantes(List<Curso> cursos) {
+        cursoRepository.devolverVacantes(ordenarPorId(cursos).stream().map(Curso::getId).toList());
+    }
+
+    // Las filas se bloquean siempre en el mismo orden para que dos estudiantes no se esperen en ciclo
+    private static List<Curso> ordenarPorId(List<Curso> cursos) {
+        return cursos.stream().sorted(Comparator.comparing(Curso::getId)).toList();
+    }
+}
@@ -0,0 +1,261 @@
+package pe.cibertec.samebanner.serviceImplement;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import pe.cibertec.samebanner.dto.CursoVistaDTO;
+import pe.cibertec.samebanner.dto.FranjaHorariaDTO;
+import pe.cibertec.samebanner.dto.VistaProyeccionDTO;
+import pe.cibertec.samebanner.event.ProyeccionesModificadasEvent;
+import pe.cibertec.samebanner.model.Curso;
+import pe.cibertec.samebanner.model.Docente;
+import pe.cibertec.samebanner.model.Proyeccion;
+import pe.cibertec.samebanner.model.ProyeccionCurso;
+import pe.cibertec.samebanner.model.VistaProyeccion;
+import pe.cibertec.samebanner.repository.DocenteRepository;
+import pe.cibertec.samebanner.repository.ProyeccionRepository;
+import pe.cibertec.samebanner.repository.VistaProyeccionRepository;
+import pe.cibertec.samebanner.service.IVistaProyeccionService;
+import pe.cibertec.samebanner.util.BloqueHorario;
+
+/**
+ * Modelo de lectura del dashboard: un documento JSON por estudiante en vistas_proyeccion.
+ * Se rehace cuando el estudiante guarda su proyección y se descarta cuando cambia un curso
+ * que la incluye; si falta o está vacía, se arma en la siguiente lectura.
+ *
+ * La transacción que modifica los datos solo vacía las vistas afectadas. Rehacerlas o descartarlas
+ * queda para un pool de pocos hilos después del commit: desde el propio listener haría falta una
+ * segunda conexión mientras la transacción confirmada aún retiene la suya, y con el pool agotado
+ * todos los hilos quedarían esperándose entre sí.
+ *
+ * Cada escritura lleva una generación tomada antes de leer los datos y solo reemplaza filas con
+ * una generación menor (UPDATE ... WHERE generacion < ?). Así una lectura que armó la vista con
+ * datos anteriores a una modificación no puede pisar lo que escribió o descartó el listener.
+ * La generación sale del reloj en microsegundos, forzada a crecer dentro de la instancia, para
+ * que siga siendo comparable tras un reinicio y entre instancias con relojes sincronizados.
+ */
+@Service
+public class VistaProyeccionServiceImplement implements IVistaProyeccionService {
+
+    private static final Logger log = LoggerFactory.getLogger(VistaProyeccionServiceImplement.class);
+
+    private final VistaProyeccionRepository vistaProyeccionRepository;
+    private final ProyeccionRepository proyeccionRepository;
+    private final DocenteRepository docenteRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaccion;
+    private final ThreadPoolExecutor actualizaciones;
+
+    private final AtomicLong ultimaGeneracion = new AtomicLong();
+
+    public VistaProyeccionServiceImplement(VistaProyeccionRepository vistaProyeccionRepository,
+            ProyeccionRepository proyeccionRepository, DocenteRepository docenteRepository,
+            ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+            @Value("${samebanner.vistas.hilos:2}") int hilos, @Value("${samebanner.vistas.cola:10000}") int cola) {
+        this.vistaProyeccionRepository = vistaProyeccionRepository;
+        this.proyeccionRepository = proyeccionRepository;
+        this.docenteRepository = docenteRepository;
+        this.objectMapper = objectMapper;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        AtomicInteger contador = new AtomicInteger();
+        this.actualizaciones = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, cola)),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "vistas-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                // Las vistas ya quedaron vacías: si la cola se llena, la siguiente lectura las arma
+                (tarea, pool) -> log.warn("Cola de actualización de vistas llena; se arman al leerlas"));
+    }
+
+    @Override
+    public Optional<VistaProyeccion> obtenerVista(Integer usuarioId) {
+        Optional<VistaProyeccion> vista = vistaProyeccionRepository.findById(usuarioId);
+        if (vista.isPresent() && vista.get().getDocumento() != null) {
+            return vista;
+        }
+
+        Optional<VistaProyeccion> construida = construir(usuarioId, siguienteGeneracion());
+        construida.ifPresent(vistaProyeccionRepository::guardarSiEsMasReciente);
+        return construida;
+    }
+
+    // Antes del commit, en la misma transacción: quien acaba de guardar no vuelve a leer la vista anterior
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void alModificarProyecciones(ProyeccionesModificadasEvent evento) {
+        if (evento.usuarioIds().isEmpty()) {
+            return;
+        }
+        List<Integer> usuarioIds = List.copyOf(evento.usuarioIds());
+        vistaProyeccionRepository.vaciar(usuarioIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            actualizaciones.execute(() -> actualizar(usuarioIds));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                actualizaciones.execute(() -> actualizar(usuarioIds));
+            }
+        });
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        actualizaciones.shutdownNow();
+    }
+
+    // La proyección de un solo estudiante se rehace al momento; los cambios de cursos solo
+    // descartan las vistas afectadas en un lote
+    private void actualizar(List<Integer> usuarioIds) {
+        long generacion = siguienteGeneracion();
+        try {
+            transaccion.executeWithoutResult(estado -> {
+                Optional<VistaProyeccion> construida = usuarioIds.size() == 1
+                        ? construir(usuarioIds.get(0), generacion)
+                        : Optional.empty();
+                if (construida.isPresent()) {
+                    vistaProyeccionRepository.guardarSiEsMasReciente(construida.get());
+                } else {
+                    vistaProyeccionRepository.descartar(usuarioIds, generacion);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Los datos ya están confirmados; la vista se arma en la siguiente lectura
+            log.warn("No se pudo actualizar la vista de proyección de {}", usuarioIds, e);
+        }
+    }
+
+    private long siguienteGeneracion() {
+        long ahora = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        return ultimaGeneracion.updateAndGet(anterior -> Math.max(anterior + 1, ahora));
+    }
+
+    private Optional<VistaProyeccion> construir(Integer usuarioId, long generacion) {
+        Optional<Proyeccion> proyeccion = proyeccionRepository.findByUsuarioId(usuarioId);
+        if (proyeccion.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String documento;
+        try {
+            documento = objectMapper.writeValueAsString(armarDocumento(proyeccion.get()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la vista de proyección", e);
+        }
+
+        VistaProyeccion vista = new VistaProyeccion();
+        vista.setUsuarioId(usuarioId);
+        vista.setDocumento(documento);
+        vista.setEtag(etag(documento));
+        vista.setFechaActualizacion(LocalDateTime.now());
+        vista.setGeneracion(generacion);
+        return Optional.of(vista);
+    }
+
+    private VistaProyeccionDTO armarDocumento(Proyeccion proyeccion) {
+        List<Curso> cursos = proyeccion.getProyeccionCursos().stream()
+                .map(ProyeccionCurso::getCurso)
+                .sorted(Comparator.comparing(Curso::getCodigoCurso))
+                .toList();
+
+        // Los docentes de todos los cursos en una sola consulta
+        Set<Integer> docenteIds = cursos.stream()
+                .map(Curso::getDocenteId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, Docente> docentes = docenteIds.isEmpty() ? Map.of()
+                : docenteRepository.findAllById(docenteIds).stream()
+                        .collect(Collectors.toMap(Docente::getId, Function.identity()));
+
+        List<CursoVistaDTO> cursosVista = new ArrayList<>(cursos.size());
+        List<FranjaHorariaDTO> horario = new ArrayList<>();
+        int totalCreditos = 0;
+        for (Curso curso : cursos) {
+            Docente docente = curso.getDocenteId() != null ? docentes.get(curso.getDocenteId()) : null;
+            cursosVista.add(cursoVista(curso, docente));
+            for (String dia : curso.getBloqueHorario().nombresDias()) {
+                horario.add(new FranjaHorariaDTO(dia, curso.getHoraInicio(), curso.getHoraFin(),
+                        curso.getCodigoCurso(), curso.getNombre(), curso.getAula()));
+            }
+            totalCreditos += curso.getCreditos() != null ? curso.getCreditos() : 0;
+        }
+        horario.sort(Comparator.comparingInt((FranjaHorariaDTO franja) -> BloqueHorario.indiceDia(franja.getDia()))
+                .thenComparing(FranjaHorariaDTO::getHoraInicio));
+
+        VistaProyeccionDTO vista = new VistaProyeccionDTO();
+        vista.setUsuarioId(proyeccion.getUsuarioId());
+        vista.setProyeccionId(proyeccion.getId());
+        vista.setCicloProyectado(proyeccion.getCicloProyectado());
+        vista.setFechaActualizacion(proyeccion.getFechaActualizacion());
+        vista.setTotalCursos(cursos.size());
+        vista.setTotalCreditos(totalCreditos);
+        vista.setCursos(cursosVista);
+        vista.setHorario(horario);
+        return vista;
+    }
+
+    private static CursoVistaDTO cursoVista(Curso curso, Docente docente) {
+        CursoVistaDTO dto = new CursoVistaDTO();
+        dto.setId(curso.getId());
+        dto.setCodigoCurso(curso.getCodigoCurso());
+        dto.setNombre(curso.getNombre());
+        dto.setCreditos(curso.getCreditos());
+        dto.setModalidad(curso.getModalidad());
+        dto.setSede(curso.getSede());
+        dto.setTurno(curso.getTurno());
+        dto.setAula(curso.getAula());
+        dto.setEnlaceVirtual(curso.getEnlaceVirtual());
+        dto.setHorarioDias(curso.getHorarioDias());
+        dto.setHoraInicio(curso.getHoraInicio());
+        dto.setHoraFin(curso.getHoraFin());
+        dto.setDocenteId(curso.getDocenteId());
+        if (docente != null) {
+            dto.setDocente(docente.getNombre() + " " + docente.getApellido());
+        }
+        return dto;
+    }
+
+    // Hash del contenido: si la vista se rehace sin cambios, el ETag se mantiene
+    private static String etag(String documento) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(documento.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
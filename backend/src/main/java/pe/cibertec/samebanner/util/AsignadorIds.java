@@ -0,0 +1,141 @@
+package pe.cibertec.samebanner.util;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Ids de las tablas principales tomados de la tabla {@code secuencias} (una fila por tabla con el
+ * siguiente id libre) en lugar de AUTO_INCREMENT. Con IDENTITY Hibernate debe ejecutar cada INSERT
+ * al momento para conocer el id y no puede agruparlos en lotes; con un generador de tabla reserva
+ * bloques de {@link #BLOQUE} ids y envía los INSERT en batch.
+ *
+ * Las entidades ({@link IdDeSecuencia}) y las inserciones hechas con JdbcTemplate reservan aquí
+ * sus ids: se lee el valor, se avanza en el tamaño del bloque y se usa el rango
+ * [valor, valor + bloque), así que nunca se solapan, tampoco entre instancias.
+ *
+ * Cada secuencia tiene su propio bloqueo, y los bloques nuevos se piden por un pool aparte de
+ * pocas conexiones. Quien llama suele estar dentro de una transacción con una conexión del pool
+ * principal: si el bloque se pidiera por ese mismo pool, con el pool agotado los hilos que esperan
+ * el bloqueo retendrían todas las conexiones y el que lo tiene no conseguiría ninguna.
+ */
+@Component
+public class AsignadorIds {
+
+	public static final String TABLA = "secuencias";
+	public static final String COLUMNA_NOMBRE = "nombre";
+	public static final String COLUMNA_SIGUIENTE = "siguiente";
+	public static final int BLOQUE = 50;
+
+	private static final Pattern IDENTIFICADOR = Pattern.compile("[a-z_]+");
+	private static final Logger log = LoggerFactory.getLogger(AsignadorIds.class);
+
+	private static final class Rango {
+		private final ReentrantLock bloqueo = new ReentrantLock();
+		private long siguiente;
+		private long limite;
+	}
+
+	private final HikariDataSource conexiones;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transaccion;
+	private final ConcurrentHashMap<String, Rango> rangos = new ConcurrentHashMap<>();
+
+	public AsignadorIds(DataSourceProperties propiedades,
+			@Value("${samebanner.secuencias.conexiones:2}") int maximoConexiones) {
+		// Mismo servidor y credenciales que el pool principal; sin conexiones abiertas mientras no se usa
+		this.conexiones = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		this.conexiones.setPoolName("secuencias");
+		this.conexiones.setMaximumPoolSize(maximoConexiones);
+		this.conexiones.setMinimumIdle(0);
+		this.jdbcTemplate = new JdbcTemplate(conexiones);
+		// Transacción propia y corta: el bloqueo de la fila no dura lo que dura la transacción del llamador
+		this.transaccion = new TransactionTemplate(new DataSourceTransactionManager(conexiones));
+	}
+
+	/**
+	 * Reserva {@code cantidad} ids consecutivos de la secuencia y devuelve el primero. Se sirven del
+	 * bloque ya reservado en memoria y solo se va a la base cuando no alcanza; mientras tanto las
+	 * demás reservas de la misma secuencia esperan, las de otras secuencias no.
+	 */
+	public int reservar(String secuencia, int cantidad) {
+		Rango rango = rangos.computeIfAbsent(secuencia, nombre -> new Rango());
+		rango.bloqueo.lock();
+		try {
+			if (rango.limite - rango.siguiente < cantidad) {
+				// El sobrante del bloque anterior se descarta; los huecos en los ids no importan
+				int tamano = Math.max(cantidad, BLOQUE);
+				rango.siguiente = avanzar(secuencia, tamano);
+				rango.limite = rango.siguiente + tamano;
+			}
+			long primero = rango.siguiente;
+			rango.siguiente += cantidad;
+			return Math.toIntExact(primero);
+		} finally {
+			rango.bloqueo.unlock();
+		}
+	}
+
+	@PreDestroy
+	public void cerrar() {
+		conexiones.close();
+	}
+
+	private long avanzar(String secuencia, int tamano) {
+		Long valor = transaccion.execute(estado -> {
+			List<Long> actual = jdbcTemplate.queryForList(
+					"SELECT " + COLUMNA_SIGUIENTE + " FROM " + TABLA + " WHERE " + COLUMNA_NOMBRE + " = ? FOR UPDATE",
+					Long.class, secuencia);
+			if (actual.isEmpty()) {
+				return null;
+			}
+			long siguiente = actual.get(0);
+			jdbcTemplate.update("UPDATE " + TABLA + " SET " + COLUMNA_SIGUIENTE + " = ? WHERE " + COLUMNA_NOMBRE
+					+ " = ?", siguiente + tamano, secuencia);
+			return siguiente;
+		});
+		if (valor == null) {
+			crear(secuencia);
+			return avanzar(secuencia, tamano);
+		}
+		return valor;
+	}
+
+	/**
+	 * Una secuencia sin fila (p. ej. una base sin el paso de inicialización del script) parte del
+	 * mayor id de su tabla: empezar en 1 repetiría los ids de las filas existentes. Si otra instancia
+	 * la crea al mismo tiempo, su INSERT falla por la clave primaria y se usa la fila de la otra.
+	 */
+	private void crear(String secuencia) {
+		// El nombre va dentro del SQL: por convención es el de la tabla, nunca un dato del usuario
+		if (!IDENTIFICADOR.matcher(secuencia).matches()) {
+			throw new IllegalArgumentException("Nombre de secuencia inválido: " + secuencia);
+		}
+		try {
+			long siguiente = transaccion.execute(estado -> {
+				long valor = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + secuencia, Long.class);
+				jdbcTemplate.update("INSERT INTO " + TABLA + " (" + COLUMNA_NOMBRE + ", " + COLUMNA_SIGUIENTE
+						+ ") VALUES (?, ?)", secuencia, valor);
+				return valor;
+			});
+			log.warn("La secuencia {} no existía; se creó a partir del id {}", secuencia, siguiente);
+		} catch (DuplicateKeyException e) {
+			// Otra instancia la creó primero
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package pe.cibertec.samebanner.util;
+
+import java.text.Normalizer;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Horario de un curso en forma compacta: un bit por día (lunes = bit 0) y el rango
+ * [inicio, fin) en minutos desde medianoche. Dos bloques se cruzan si comparten algún
+ * día y sus rangos se solapan, lo que se resuelve con un AND y dos comparaciones.
+ */
+public final class BloqueHorario {
+
+	private static final String[] DIAS = {"Lunes", "Martes", "Miércoles", "Jueves", "Viernes", "Sábado", "Domingo"};
+
+	public static final BloqueHorario VACIO = new BloqueHorario(0, 0, 0);
+
+	// "Lunes,Miércoles", "LUN-MIE" o "LUN MIE": el guion separa días, no indica un rango
+	private static final Pattern SEPARADOR = Pattern.compile("[,;/\\-\\s]+");
+
+	private final int dias;
+	private final int inicio;
+	private final int fin;
+
+	public BloqueHorario(int dias, int inicio, int fin) {
+		this.dias = dias;
+		this.inicio = inicio;
+		this.fin = fin;
+	}
+
+	// horarioDias viene como "Lunes,Miércoles" o "LUN-MIE"; se aceptan mayúsculas y nombres sin tilde.
+	// Los días no reconocidos se ignoran aquí para no romper la lectura de filas antiguas; al guardar
+	// un curso se rechazan con validarDias
+	public static BloqueHorario de(String horarioDias, LocalTime horaInicio, LocalTime horaFin) {
+		if (horarioDias == null || horaInicio == null || horaFin == null) {
+			return VACIO;
+		}
+		int dias = 0;
+		for (String dia : dias(horarioDias)) {
+			int indice = indiceDia(dia);
+			if (indice >= 0) {
+				dias |= 1 << indice;
+			}
+		}
+		int inicio = horaInicio.getHour() * 60 + horaInicio.getMinute();
+		int fin = horaFin.getHour() * 60 + horaFin.getMinute();
+		return dias == 0 || fin <= inicio ? VACIO : new BloqueHorario(dias, inicio, fin);
+	}
+
+	// Un curso con un día mal escrito quedaría VACIO y nunca se cruzaría con otro
+	public static void validarDias(String horarioDias) {
+		if (horarioDias == null) {
+			return;
+		}
+		String[] dias = dias(horarioDias);
+		if (dias.length == 0) {
+			throw new IllegalArgumentException("horarioDias no contiene ningún día");
+		}
+		for (String dia : dias) {
+			if (indiceDia(dia) < 0) {
+				throw new IllegalArgumentException("Día no reconocido: " + dia);
+			}
+		}
+	}
+
+	private static String[] dias(String horarioDias) {
+		String recortado = horarioDias.trim();
+		return recortado.isEmpty() ? new String[0] : SEPARADOR.split(recortado);
+	}
+
+	public boolean seCruzaCon(BloqueHorario otro) {
+		return (dias & otro.dias) != 0 && inicio < otro.fin && otro.inicio < fin;
+	}
+
+	// Días en común con otro bloque, en el orden de la semana
+	public List<String> diasEnComun(BloqueHorario otro) {
+		return nombresDias(dias & otro.dias);
+	}
+
+	public List<String> nombresDias() {
+		return nombresDias(dias);
+	}
+
+	private static List<String> nombresDias(int mascara) {
+		List<String> nombres = new ArrayList<>();
+		for (int i = 0; i < DIAS.length; i++) {
+			if ((mascara & (1 << i)) != 0) {
+				nombres.add(DIAS[i]);
+			}
+		}
+		return nombres;
+	}
+
+	public int getDias() {
+		return dias;
+	}
+
+	public int getInicio() {
+		return inicio;
+	}
+
+	public int getFin() {
+		return fin;
+	}
+
+	// Posición del día en la semana (lunes = 0) o -1 si no se reconoce; acepta el nombre completo
+	// o la abreviatura de tres letras que usa el panel de administración (LUN, MAR, MIE, ...)
+	public static int indiceDia(String dia) {
+		String normalizado = Normalizer.normalize(dia.trim(), Normalizer.Form.NFD)
+				.replaceAll("\\p{M}", "")
+				.toLowerCase(Locale.ROOT);
+		return switch (normalizado) {
+			case "lunes", "lun" -> 0;
+			case "martes", "mar" -> 1;
+			case "miercoles", "mie" -> 2;
+			case "jueves", "jue" -> 3;
+			case "viernes", "vie" -> 4;
+			case "sabado", "sab" -> 5;
+			case "domingo", "dom" -> 6;
+			default -> -1;
+		};
+	}
+}
@@ -0,0 +1,164 @@
+package pe.cibertec.samebanner.util;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import pe.cibertec.samebanner.dto.EstadisticasCacheDTO;
+
+/**
+ * Cache en memoria acotada por número de entradas, con desalojo LRU, vencimiento
+ * opcional por tiempo y contadores de aciertos, fallos y desalojos para poder dimensionarla.
+ */
+public class CacheLRU<K, V> {
+
+	private final String nombre;
+	private final int maxEntradas;
+	private final long ttlNanos;
+	private final LinkedHashMap<K, Entrada<V>> entradas;
+
+	// ReentrantLock en lugar de synchronized: con hilos virtuales la espera no fija el hilo portador
+	private final ReentrantLock bloqueo = new ReentrantLock();
+
+	private final LongAdder aciertos = new LongAdder();
+	private final LongAdder fallos = new LongAdder();
+	private final LongAdder desalojos = new LongAdder();
+
+	// Se incrementa en cada invalidación; evita guardar un valor cargado antes de invalidar
+	private long generacion;
+
+	public CacheLRU(String nombre, int maxEntradas) {
+		this(nombre, maxEntradas, Duration.ZERO);
+	}
+
+	// Con ttl cero las entradas no vencen y solo salen por desalojo o invalidación
+	public CacheLRU(String nombre, int maxEntradas, Duration ttl) {
+		this.nombre = nombre;
+		this.maxEntradas = maxEntradas;
+		this.ttlNanos = ttl.toNanos();
+		this.entradas = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	public V get(K clave) {
+		V valor = null;
+		bloqueo.lock();
+		try {
+			Entrada<V> entrada = entradas.get(clave);
+			if (entrada != null) {
+				if (entrada.vencida(System.nanoTime())) {
+					entradas.remove(clave);
+				} else {
+					valor = entrada.valor();
+				}
+			}
+		} finally {
+			bloqueo.unlock();
+		}
+		if (valor == null) {
+			fallos.increment();
+		} else {
+			aciertos.increment();
+		}
+		return valor;
+	}
+
+	// Lectura con carga: la consulta a la base de datos se hace fuera del bloqueo
+	public V get(K clave, Function<K, V> cargador) {
+		long generacionInicial;
+		bloqueo.lock();
+		try {
+			generacionInicial = generacion;
+		} finally {
+			bloqueo.unlock();
+		}
+		V valor = get(clave);
+		if (valor == null) {
+			valor = cargador.apply(clave);
+			if (valor != null) {
+				bloqueo.lock();
+				try {
+					if (generacion == generacionInicial) {
+						guardar(clave, valor);
+					}
+				} finally {
+					bloqueo.unlock();
+				}
+			}
+		}
+		return valor;
+	}
+
+	public void put(K clave, V valor) {
+		bloqueo.lock();
+		try {
+			guardar(clave, valor);
+		} finally {
+			bloqueo.unlock();
+		}
+	}
+
+	public void invalidar(K clave) {
+		bloqueo.lock();
+		try {
+			generacion++;
+			entradas.remove(clave);
+		} finally {
+			bloqueo.unlock();
+		}
+	}
+
+	public void invalidarSi(Predicate<Map.Entry<K, V>> condicion) {
+		bloqueo.lock();
+		try {
+			generacion++;
+			entradas.entrySet().removeIf(entrada -> condicion.test(Map.entry(entrada.getKey(), entrada.getValue().valor())));
+		} finally {
+			bloqueo.unlock();
+		}
+	}
+
+	public void invalidarTodo() {
+		bloqueo.lock();
+		try {
+			generacion++;
+			entradas.clear();
+		} finally {
+			bloqueo.unlock();
+		}
+	}
+
+	private void guardar(K clave, V valor) {
+		entradas.put(clave, new Entrada<>(valor, ttlNanos > 0 ? System.nanoTime() + ttlNanos : 0));
+		Iterator<K> it = entradas.keySet().iterator();
+		while (entradas.size() > maxEntradas && it.hasNext()) {
+			it.next();
+			it.remove();
+			desalojos.increment();
+		}
+	}
+
+	public EstadisticasCacheDTO estadisticas() {
+		int tamano;
+		bloqueo.lock();
+		try {
+			tamano = entradas.size();
+		} finally {
+			bloqueo.unlock();
+		}
+		return new EstadisticasCacheDTO(nombre, tamano, maxEntradas,
+				aciertos.sum(), fallos.sum(), desalojos.sum());
+	}
+
+	// vence = 0 indica que la entrada no caduca
+	private record Entrada<V>(V valor, long vence) {
+
+		boolean vencida(long ahora) {
+			return vence != 0 && ahora - vence >= 0;
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package pe.cibertec.samebanner.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import pe.cibertec.samebanner.util.VersionesCatalogo.Tabla;
+
+/**
+ * Listados del catálogo ya serializados a JSON y comprimidos con gzip, uno por tabla y vista
+ * ("full" o "summary"). Cada cuerpo guarda la versión de {@link VersionesCatalogo} con la que
+ * se armó y se rehace en la primera lectura posterior a una escritura; mientras tanto las
+ * peticiones solo eligen el arreglo de bytes según Accept-Encoding.
+ */
+@Component
+public class CatalogoSerializado {
+
+	public record Cuerpo(Tabla tabla, long version, boolean vacio, byte[] identidad, byte[] gzip) {
+	}
+
+	private record Clave(Tabla tabla, String vista) {
+	}
+
+	private final VersionesCatalogo versionesCatalogo;
+	private final ObjectMapper objectMapper;
+	private final int tamanoMinimoGzip;
+	private final ConcurrentHashMap<Clave, Cuerpo> cuerpos = new ConcurrentHashMap<>();
+
+	public CatalogoSerializado(VersionesCatalogo versionesCatalogo, ObjectMapper objectMapper,
+			@Value("${server.compression.min-response-size:2048}") int tamanoMinimoGzip) {
+		this.versionesCatalogo = versionesCatalogo;
+		this.objectMapper = objectMapper;
+		this.tamanoMinimoGzip = tamanoMinimoGzip;
+	}
+
+	/**
+	 * Devuelve el cuerpo vigente de la vista; si la tabla cambió desde que se armó, lo rehace con {@code cargar}.
+	 */
+	public Cuerpo obtener(Tabla tabla, String vista, Supplier<? extends Collection<?>> cargar) {
+		Clave clave = new Clave(tabla, "summary".equalsIgnoreCase(vista) ? "summary" : "full");
+		// La versión se lee antes de cargar: si hay una escritura en medio, la siguiente lectura lo rehace
+		long version = versionesCatalogo.version(tabla);
+		Cuerpo cuerpo = cuerpos.get(clave);
+		if (cuerpo != null && cuerpo.version() == version) {
+			return cuerpo;
+		}
+
+		Cuerpo nuevo = serializar(tabla, version, cargar.get());
+		// Si otro hilo guardó uno más reciente mientras tanto, se conserva ese
+		return cuerpos.merge(clave, nuevo, (actual, armado) -> actual.version() > armado.version() ? actual : armado);
+	}
+
+	/**
+	 * Responde 304 si el cliente ya tiene esta versión; si no, escribe los bytes tal cual, en gzip
+	 * cuando el cliente lo acepta. Tomcat no vuelve a comprimir una respuesta con Content-Encoding.
+	 */
+	public ResponseEntity<byte[]> responder(Cuerpo cuerpo, WebRequest webRequest) {
+		boolean gzip = cuerpo.gzip() != null && aceptaGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+		String etag = versionesCatalogo.etag(cuerpo.tabla(), cuerpo.version());
+		if (gzip) {
+			// Cada codificación es una representación distinta y necesita su propio ETag fuerte
+			etag = etag.substring(0, etag.length() - 1) + "-gz\"";
+		}
+
+		if (webRequest.checkNotModified(etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+					.varyBy(HttpHeaders.ACCEPT_ENCODING)
+					.cacheControl(versionesCatalogo.cacheControl(cuerpo.tabla()))
+					.build();
+		}
+
+		ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.varyBy(HttpHeaders.ACCEPT_ENCODING)
+				.eTag(etag)
+				.cacheControl(versionesCatalogo.cacheControl(cuerpo.tabla()));
+		if (gzip) {
+			return respuesta.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+					.contentLength(cuerpo.gzip().length)
+					.body(cuerpo.gzip());
+		}
+		return respuesta.contentLength(cuerpo.identidad().length).body(cuerpo.identidad());
+	}
+
+	private Cuerpo serializar(Tabla tabla, long version, Collection<?> datos) {
+		byte[] identidad;
+		try {
+			identidad = objectMapper.writeValueAsBytes(datos);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("No se pudo serializar el catálogo " + tabla, e);
+		}
+		// Igual que server.compression: por debajo del mínimo no vale la pena comprimir
+		byte[] gzip = identidad.length >= tamanoMinimoGzip ? comprimir(identidad) : null;
+		return new Cuerpo(tabla, version, datos.isEmpty(), identidad, gzip);
+	}
+
+	// Se comprime una sola vez por versión, así que se usa el nivel máximo
+	private static byte[] comprimir(byte[] datos) {
+		ByteArrayOutputStream salida = new ByteArrayOutputStream(datos.length / 4);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(salida) {
+			{
+				def.setLevel(Deflater.BEST_COMPRESSION);
+			}
+		}) {
+			gzip.write(datos);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return salida.toByteArray();
+	}
+
+	private static boolean aceptaGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		for (String parte : acceptEncoding.split(",")) {
+			String[] tokens = parte.trim().split(";");
+			String codificacion = tokens[0].trim();
+			if (codificacion.equalsIgnoreCase("gzip") || codificacion.equals("*")) {
+				return tokens.length == 1 || !tokens[1].trim().matches("q=0(\\.0*)?");
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,108 @@
+package pe.cibertec.samebanner.util;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Cuenta las sentencias SQL y el tiempo de base de datos del hilo actual entre iniciar() y
+ * terminar(). Envuelve el DataSource con datasource-proxy, así ve tanto lo que ejecuta
+ * Hibernate como lo que ejecutan JdbcTemplate y los repositorios *Impl. Cada ejecución cuenta
+ * una vez (un lote JDBC es un solo viaje a la base), y el tiempo es el de execute, sin incluir
+ * la lectura del ResultSet.
+ *
+ * Las mediciones se anidan: lo que cuenta una medición interna también se suma a la externa,
+ * de modo que una prueba puede medir alrededor de una petición que ya mide el filtro. Las
+ * consultas hechas en otros hilos (p. ej. el pool de BCrypt del login) no se cuentan.
+ */
+@Component
+public class ContadorConsultas implements BeanPostProcessor, QueryExecutionListener {
+
+	public static final class Medicion {
+
+		private final Medicion anterior;
+		private int consultas;
+		private long nanos;
+		private long inicioSentencia;
+
+		private Medicion(Medicion anterior) {
+			this.anterior = anterior;
+		}
+
+		public int getConsultas() {
+			return consultas;
+		}
+
+		public double getMilisegundos() {
+			return nanos / 1e6;
+		}
+	}
+
+	private static final ThreadLocal<Medicion> MEDICION = new ThreadLocal<>();
+
+	private final boolean habilitado;
+
+	public ContadorConsultas(@Value("${samebanner.consultas.habilitado:true}") boolean habilitado) {
+		this.habilitado = habilitado;
+	}
+
+	// MetricasPool es Ordered y se aplica antes, cuando el bean todavía es el HikariDataSource
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (habilitado && bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+			return ProxyDataSourceBuilder.create(beanName, dataSource)
+					.listener(this)
+					.build();
+		}
+		return bean;
+	}
+
+	public Medicion iniciar() {
+		Medicion medicion = new Medicion(MEDICION.get());
+		MEDICION.set(medicion);
+		return medicion;
+	}
+
+	public Medicion terminar() {
+		Medicion medicion = MEDICION.get();
+		if (medicion == null) {
+			return new Medicion(null);
+		}
+		Medicion anterior = medicion.anterior;
+		if (anterior != null) {
+			anterior.consultas += medicion.consultas;
+			anterior.nanos += medicion.nanos;
+			MEDICION.set(anterior);
+		} else {
+			MEDICION.remove();
+		}
+		return medicion;
+	}
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		Medicion medicion = MEDICION.get();
+		if (medicion != null) {
+			medicion.inicioSentencia = System.nanoTime();
+		}
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		Medicion medicion = MEDICION.get();
+		if (medicion != null) {
+			medicion.consultas++;
+			medicion.nanos += System.nanoTime() - medicion.inicioSentencia;
+		}
+	}
+}
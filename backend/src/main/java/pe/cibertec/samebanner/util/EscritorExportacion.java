@@ -0,0 +1,152 @@
+package pe.cibertec.samebanner.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+
+/**
+ * Escribe las filas de un ResultSet a medida que se leen, sin acumularlas: cada fila pasa por un
+ * búfer de tamaño fijo y de ahí a la salida. Las columnas se nombran con las etiquetas del SELECT.
+ */
+public abstract class EscritorExportacion {
+
+	protected String[] columnas;
+
+	public static EscritorExportacion para(FormatoExportacion formato, OutputStream salida, JsonFactory jsonFactory)
+			throws IOException {
+		return formato == FormatoExportacion.CSV ? new Csv(salida) : new Ndjson(salida, jsonFactory);
+	}
+
+	public void encabezado(String[] columnas) throws IOException {
+		this.columnas = columnas;
+	}
+
+	public abstract void fila(ResultSet rs) throws IOException, SQLException;
+
+	public abstract void terminar() throws IOException;
+
+	// Fechas y horas en ISO-8601, igual que el ObjectMapper de la aplicación
+	protected static Object valor(ResultSet rs, int columna) throws SQLException {
+		Object valor = rs.getObject(columna);
+		if (valor instanceof Timestamp timestamp) {
+			return timestamp.toLocalDateTime();
+		}
+		if (valor instanceof Time hora) {
+			return hora.toLocalTime();
+		}
+		if (valor instanceof java.sql.Date fecha) {
+			return fecha.toLocalDate();
+		}
+		return valor;
+	}
+
+	private static final class Ndjson extends EscritorExportacion {
+
+		private final JsonGenerator generador;
+
+		private Ndjson(OutputStream salida, JsonFactory jsonFactory) throws IOException {
+			generador = jsonFactory.createGenerator(salida, JsonEncoding.UTF8)
+					.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			// Sin separador entre objetos: cada uno termina con su propio salto de línea
+			generador.setPrettyPrinter(new MinimalPrettyPrinter(""));
+		}
+
+		@Override
+		public void fila(ResultSet rs) throws IOException, SQLException {
+			generador.writeStartObject();
+			for (int i = 0; i < columnas.length; i++) {
+				Object valor = valor(rs, i + 1);
+				generador.writeFieldName(columnas[i]);
+				if (valor == null) {
+					generador.writeNull();
+				} else if (valor instanceof Boolean booleano) {
+					generador.writeBoolean(booleano);
+				} else if (valor instanceof Integer || valor instanceof Long || valor instanceof Short) {
+					generador.writeNumber(((Number) valor).longValue());
+				} else if (valor instanceof BigDecimal decimal) {
+					generador.writeNumber(decimal);
+				} else if (valor instanceof Number numero) {
+					generador.writeNumber(numero.toString());
+				} else {
+					generador.writeString(valor.toString());
+				}
+			}
+			generador.writeEndObject();
+			generador.writeRaw('\n');
+		}
+
+		@Override
+		public void terminar() throws IOException {
+			generador.close();
+		}
+	}
+
+	private static final class Csv extends EscritorExportacion {
+
+		private final Writer escritor;
+
+		private Csv(OutputStream salida) {
+			escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public void encabezado(String[] columnas) throws IOException {
+			super.encabezado(columnas);
+			for (int i = 0; i < columnas.length; i++) {
+				if (i > 0) {
+					escritor.write(',');
+				}
+				escribirCampo(columnas[i]);
+			}
+			escritor.write("\r\n");
+		}
+
+		@Override
+		public void fila(ResultSet rs) throws IOException, SQLException {
+			for (int i = 0; i < columnas.length; i++) {
+				if (i > 0) {
+					escritor.write(',');
+				}
+				Object valor = valor(rs, i + 1);
+				if (valor != null) {
+					escribirCampo(valor.toString());
+				}
+			}
+			escritor.write("\r\n");
+		}
+
+		@Override
+		public void terminar() throws IOException {
+			escritor.flush();
+		}
+
+		// RFC 4180: entre comillas solo si hace falta, duplicando las comillas internas
+		private void escribirCampo(String campo) throws IOException {
+			boolean citar = false;
+			for (int i = 0; i < campo.length() && !citar; i++) {
+				char c = campo.charAt(i);
+				citar = c == ',' || c == '"' || c == '\n' || c == '\r';
+			}
+			if (!citar) {
+				escritor.write(campo);
+				return;
+			}
+			escritor.write('"');
+			escritor.write(campo.replace("\"", "\"\""));
+			escritor.write('"');
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package pe.cibertec.samebanner.util;
+
+// Formatos de exportación e importación: una fila por línea en ambos casos
+public enum FormatoExportacion {
+
+	NDJSON("application/x-ndjson", "ndjson"),
+	CSV("text/csv;charset=UTF-8", "csv");
+
+	private final String tipoContenido;
+	private final String extension;
+
+	FormatoExportacion(String tipoContenido, String extension) {
+		this.tipoContenido = tipoContenido;
+		this.extension = extension;
+	}
+
+	public String getTipoContenido() {
+		return tipoContenido;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	public static FormatoExportacion de(String valor) {
+		for (FormatoExportacion formato : values()) {
+			if (formato.extension.equalsIgnoreCase(valor)) {
+				return formato;
+			}
+		}
+		throw new IllegalArgumentException("Formato no soportado: " + valor + " (use ndjson o csv)");
+	}
+}
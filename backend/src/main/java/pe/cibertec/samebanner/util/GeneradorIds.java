@@ -0,0 +1,74 @@
+package pe.cibertec.samebanner.util;
+
+import java.lang.reflect.Member;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.resource.beans.container.spi.BeanContainer;
+import org.hibernate.resource.beans.spi.BeanInstanceProducer;
+import org.hibernate.resource.beans.spi.ManagedBeanRegistry;
+
+/**
+ * Generador de Hibernate para {@link IdDeSecuencia}. Reemplaza a {@code @TableGenerator}, que pide
+ * cada bloque por una conexión aislada del pool principal mientras la sesión retiene la suya y,
+ * con el pool agotado, se queda esperando una conexión que nunca se libera. AsignadorIds pide los
+ * bloques por su propio pool.
+ *
+ * El id se asigna antes del INSERT, así Hibernate puede seguir agrupando las inserciones en lotes.
+ */
+public class GeneradorIds implements IdentifierGenerator {
+
+	// El singleton de Spring, no una instancia nueva por generador
+	private static final BeanContainer.LifecycleOptions SINGLETON = new BeanContainer.LifecycleOptions() {
+		@Override
+		public boolean canUseCachedReferences() {
+			return true;
+		}
+
+		@Override
+		public boolean useJpaCompliantCreation() {
+			return false;
+		}
+	};
+
+	// Sin Spring no hay AsignadorIds que crear por fuera
+	private static final BeanInstanceProducer SIN_ALTERNATIVA = new BeanInstanceProducer() {
+		@Override
+		public <B> B produceBeanInstance(Class<B> tipo) {
+			throw new IllegalStateException("No hay un bean " + tipo.getSimpleName() + " en el contexto de Spring");
+		}
+
+		@Override
+		public <B> B produceBeanInstance(String nombre, Class<B> tipo) {
+			return produceBeanInstance(tipo);
+		}
+	};
+
+	private final String secuencia;
+	private final BeanContainer beans;
+	private volatile AsignadorIds asignadorIds;
+
+	public GeneradorIds(IdDeSecuencia configuracion, Member miembro, CustomIdGeneratorCreationContext contexto) {
+		this.secuencia = configuracion.value();
+		this.beans = contexto.getServiceRegistry().requireService(ManagedBeanRegistry.class).getBeanContainer();
+		if (beans == null) {
+			throw new IllegalStateException("@IdDeSecuencia requiere el contenedor de beans de Spring en Hibernate");
+		}
+	}
+
+	@Override
+	public Object generate(SharedSessionContractImplementor sesion, Object entidad) {
+		return asignadorIds().reservar(secuencia, 1);
+	}
+
+	// Se busca en el primer INSERT: al crear el generador Spring todavía está armando el EntityManagerFactory
+	private AsignadorIds asignadorIds() {
+		AsignadorIds asignador = asignadorIds;
+		if (asignador == null) {
+			asignador = beans.getBean(AsignadorIds.class, SINGLETON, SIN_ALTERNATIVA).getBeanInstance();
+			asignadorIds = asignador;
+		}
+		return asignador;
+	}
+}
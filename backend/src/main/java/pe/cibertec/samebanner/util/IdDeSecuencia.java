@@ -0,0 +1,21 @@
+package pe.cibertec.samebanner.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Id de la entidad tomado de {@link AsignadorIds} con la secuencia indicada, la misma que usan las
+ * inserciones hechas con JdbcTemplate sobre esa tabla.
+ */
+@IdGeneratorType(GeneradorIds.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface IdDeSecuencia {
+
+	// Nombre de la fila en secuencias; por convención, el de la tabla
+	String value();
+}
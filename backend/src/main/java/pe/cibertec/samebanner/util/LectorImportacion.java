@@ -0,0 +1,163 @@
+package pe.cibertec.samebanner.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Lee un archivo subido fila por fila, sin cargarlo completo. Cada fila se entrega como un mapa
+ * columna -> texto con los nombres en minúsculas, para aceptar tanto "codigoCurso" como "codigocurso".
+ * Una fila mal formada lanza IllegalArgumentException y la lectura puede continuar con la siguiente.
+ */
+public abstract class LectorImportacion {
+
+	protected final BufferedReader lector;
+	protected long fila;
+
+	protected LectorImportacion(InputStream entrada) {
+		this.lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+	}
+
+	public static LectorImportacion para(FormatoExportacion formato, InputStream entrada, ObjectMapper objectMapper)
+			throws IOException {
+		return formato == FormatoExportacion.CSV ? new Csv(entrada) : new Ndjson(entrada, objectMapper);
+	}
+
+	// Devuelve null al terminar el archivo
+	public abstract Map<String, String> siguiente() throws IOException;
+
+	// Número de la última fila leída, desde 1 y sin contar el encabezado
+	public long getFila() {
+		return fila;
+	}
+
+	private static final class Ndjson extends LectorImportacion {
+
+		private static final TypeReference<Map<String, Object>> TIPO = new TypeReference<>() { };
+
+		private final ObjectMapper objectMapper;
+
+		private Ndjson(InputStream entrada, ObjectMapper objectMapper) {
+			super(entrada);
+			this.objectMapper = objectMapper;
+		}
+
+		@Override
+		public Map<String, String> siguiente() throws IOException {
+			String linea;
+			do {
+				linea = lector.readLine();
+				if (linea == null) {
+					return null;
+				}
+			} while (linea.isBlank());
+			fila++;
+
+			Map<String, Object> objeto;
+			try {
+				objeto = objectMapper.readValue(linea, TIPO);
+			} catch (JsonProcessingException e) {
+				throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+			}
+			Map<String, String> valores = new HashMap<>();
+			objeto.forEach((columna, valor) -> valores.put(columna.toLowerCase(Locale.ROOT),
+					valor != null ? valor.toString() : null));
+			return valores;
+		}
+	}
+
+	private static final class Csv extends LectorImportacion {
+
+		private String[] columnas;
+
+		private Csv(InputStream entrada) {
+			super(entrada);
+		}
+
+		@Override
+		public Map<String, String> siguiente() throws IOException {
+			if (columnas == null) {
+				List<String> encabezado = leerRegistro();
+				if (encabezado == null) {
+					return null;
+				}
+				// Un BOM de Excel quedaría pegado al primer nombre
+				if (!encabezado.isEmpty() && encabezado.get(0).startsWith("\uFEFF")) {
+					encabezado.set(0, encabezado.get(0).substring(1));
+				}
+				columnas = encabezado.stream().map(c -> c.trim().toLowerCase(Locale.ROOT)).toArray(String[]::new);
+			}
+
+			List<String> campos;
+			do {
+				campos = leerRegistro();
+				if (campos == null) {
+					return null;
+				}
+			} while (campos.size() == 1 && campos.get(0).isEmpty());
+			fila++;
+
+			if (campos.size() != columnas.length) {
+				throw new IllegalArgumentException("Se esperaban " + columnas.length + " columnas y hay " + campos.size());
+			}
+			Map<String, String> valores = new HashMap<>();
+			for (int i = 0; i < columnas.length; i++) {
+				valores.put(columnas[i], campos.get(i).isEmpty() ? null : campos.get(i));
+			}
+			return valores;
+		}
+
+		// RFC 4180: un campo entre comillas puede contener comas, saltos de línea y comillas dobladas
+		private List<String> leerRegistro() throws IOException {
+			int c = lector.read();
+			if (c == -1) {
+				return null;
+			}
+			List<String> campos = new ArrayList<>();
+			StringBuilder campo = new StringBuilder();
+			boolean entreComillas = false;
+			while (true) {
+				if (entreComillas) {
+					if (c == -1) {
+						throw new IllegalArgumentException("Comillas sin cerrar al final del archivo");
+					}
+					if (c == '"') {
+						lector.mark(1);
+						int siguiente = lector.read();
+						if (siguiente == '"') {
+							campo.append('"');
+						} else {
+							entreComillas = false;
+							lector.reset();
+						}
+					} else {
+						campo.append((char) c);
+					}
+				} else if (c == '"' && campo.length() == 0) {
+					entreComillas = true;
+				} else if (c == ',') {
+					campos.add(campo.toString());
+					campo.setLength(0);
+				} else if (c == '\n' || c == -1) {
+					break;
+				} else if (c != '\r') {
+					campo.append((char) c);
+				}
+				c = lector.read();
+			}
+			campos.add(campo.toString());
+			return campos;
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package pe.cibertec.samebanner.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import pe.cibertec.samebanner.dto.EstadisticasPoolDTO;
+
+/**
+ * Saturación y tiempos de espera del pool de conexiones. Se registra como MetricsTrackerFactory
+ * del HikariDataSource, así Hikari informa cada adquisición (cuánto esperó el hilo por una
+ * conexión), cada préstamo (cuánto la retuvo) y cada timeout. El estado instantáneo
+ * (activas, inactivas, hilos esperando) sale de las PoolStats del propio pool.
+ *
+ * Hikari admite una sola MetricsTrackerFactory y Spring Boot no registra las métricas hikaricp_*
+ * si el pool ya tiene una: cada evento se reenvía también al tracker de Micrometer.
+ */
+@Component
+public class MetricasPool implements MetricsTrackerFactory, BeanPostProcessor, Ordered {
+
+	// Límites superiores (en ms) de los rangos de espera; el último rango no tiene límite
+	private static final long[] LIMITES_ESPERA_MS = {1, 10, 100, 1000};
+
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+
+	private volatile String nombre = "";
+	private volatile PoolStats poolStats;
+
+	private final LongAdder adquisiciones = new LongAdder();
+	private final LongAdder esperaTotalNanos = new LongAdder();
+	private final LongAccumulator esperaMaximaNanos = new LongAccumulator(Math::max, 0);
+	private final LongAdder[] esperas = new LongAdder[LIMITES_ESPERA_MS.length + 1];
+	private final LongAdder prestamos = new LongAdder();
+	private final LongAdder usoTotalMs = new LongAdder();
+	private final LongAdder timeouts = new LongAdder();
+	private final LongAdder conexionesCreadas = new LongAdder();
+
+	// ObjectProvider: el registro se pide recién cuando arranca el pool, no al crear este post-procesador
+	public MetricasPool(ObjectProvider<MeterRegistry> meterRegistry) {
+		this.meterRegistry = meterRegistry;
+		for (int i = 0; i < esperas.length; i++) {
+			esperas[i] = new LongAdder();
+		}
+	}
+
+	// Antes que ContadorConsultas, que reemplaza el DataSource por un proxy
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof HikariDataSource dataSource && dataSource.getMetricsTrackerFactory() == null
+				&& dataSource.getMetricRegistry() == null) {
+			dataSource.setMetricsTrackerFactory(this);
+		}
+		return bean;
+	}
+
+	@Override
+	public IMetricsTracker create(String poolName, PoolStats poolStats) {
+		this.nombre = poolName;
+		this.poolStats = poolStats;
+		MeterRegistry registro = meterRegistry.getIfAvailable();
+		IMetricsTracker micrometer = registro != null
+				? new MicrometerMetricsTrackerFactory(registro).create(poolName, poolStats)
+				: new IMetricsTracker() {
+				};
+		return new IMetricsTracker() {
+			@Override
+			public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+				conexionesCreadas.increment();
+				micrometer.recordConnectionCreatedMillis(connectionCreatedMillis);
+			}
+
+			@Override
+			public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+				adquisiciones.increment();
+				esperaTotalNanos.add(elapsedAcquiredNanos);
+				esperaMaximaNanos.accumulate(elapsedAcquiredNanos);
+				esperas[rango(TimeUnit.NANOSECONDS.toMillis(elapsedAcquiredNanos))].increment();
+				micrometer.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+			}
+
+			@Override
+			public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+				prestamos.increment();
+				usoTotalMs.add(elapsedBorrowedMillis);
+				micrometer.recordConnectionUsageMillis(elapsedBorrowedMillis);
+			}
+
+			@Override
+			public void recordConnectionTimeout() {
+				timeouts.increment();
+				micrometer.recordConnectionTimeout();
+			}
+
+			@Override
+			public void close() {
+				micrometer.close();
+			}
+		};
+	}
+
+	public EstadisticasPoolDTO estadisticas() {
+		PoolStats stats = poolStats;
+		int maximo = stats != null ? stats.getMaxConnections() : 0;
+		int activas = stats != null ? stats.getActiveConnections() : 0;
+
+		Map<String, Long> rangos = new LinkedHashMap<>();
+		for (int i = 0; i < LIMITES_ESPERA_MS.length; i++) {
+			rangos.put("<=" + LIMITES_ESPERA_MS[i] + "ms", esperas[i].sum());
+		}
+		rangos.put(">" + LIMITES_ESPERA_MS[LIMITES_ESPERA_MS.length - 1] + "ms", esperas[LIMITES_ESPERA_MS.length].sum());
+
+		long totalAdquisiciones = adquisiciones.sum();
+		long totalPrestamos = prestamos.sum();
+		return new EstadisticasPoolDTO(
+				nombre,
+				maximo,
+				activas,
+				stats != null ? stats.getIdleConnections() : 0,
+				stats != null ? stats.getPendingThreads() : 0,
+				maximo > 0 ? (double) activas / maximo : 0,
+				totalAdquisiciones,
+				totalAdquisiciones > 0 ? esperaTotalNanos.sum() / 1e6 / totalAdquisiciones : 0,
+				esperaMaximaNanos.get() / 1e6,
+				rangos,
+				timeouts.sum(),
+				totalPrestamos > 0 ? (double) usoTotalMs.sum() / totalPrestamos : 0,
+				conexionesCreadas.sum());
+	}
+
+	private static int rango(long milisegundos) {
+		for (int i = 0; i < LIMITES_ESPERA_MS.length; i++) {
+			if (milisegundos <= LIMITES_ESPERA_MS[i]) {
+				return i;
+			}
+		}
+		return LIMITES_ESPERA_MS.length;
+	}
+}
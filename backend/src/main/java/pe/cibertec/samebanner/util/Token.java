@@ -5,57 +5,115 @@ package pe.cibertec.samebanner.util;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import javax.crypto.SecretKey;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import pe.cibertec.samebanner.security.UsuarioPrincipal;
 
 
 
 public class Token {
 	
+	private final static Logger log = LoggerFactory.getLogger(Token.class);
+	
 	private final static String TOKEN_FIRMA = "aLg3eqbV254pZd9AFiMh4mAcRAt1Y0Jb";//32 caracteres
 	private final static Long TOKEN_DURACION = 3_600L;//TIEMPO DE DURACIÓN
 	
-	public static String crearToken(String user, String email) {
+	//LA CLAVE Y EL PARSER SE CONSTRUYEN UNA SOLA VEZ; AMBOS SON SEGUROS ENTRE HILOS
+	private final static SecretKey CLAVE = Keys.hmacShaKeyFor(TOKEN_FIRMA.getBytes());
+	private final static JwtParser PARSER = Jwts.parserBuilder()
+			.setSigningKey(CLAVE)
+			.build();
+	
+	//TIEMPOS EN samebanner.token (REGISTRO GLOBAL, QUE SPRING BOOT ENLAZA CON EL DE PROMETHEUS)
+	private final static Timer CREAR = timer("crear", "ok");
+	private final static Timer VERIFICAR_OK = timer("verificar", "ok");
+	private final static Timer VERIFICAR_FALLO = timer("verificar", "fallo");
+	private final static Timer AUTENTICAR = timer("autenticar", "ok");
+	
+	private static Timer timer(String operacion, String resultado) {
+		return Timer.builder("samebanner.token")
+				.description("Tiempo de firma, verificación y lectura de los JWT")
+				.tag("operacion", operacion)
+				.tag("resultado", resultado)
+				.register(Metrics.globalRegistry);
+	}
+	
+	public static String crearToken(Integer id, String user, String email, String rol) {
 		
 		long expiracionTiempo = TOKEN_DURACION * 1_000;//EL TIEMPO ASIGNADO DEBERA DE ESTAR EL MILISEGUNDOS
 		Date expiracionFecha = new Date(System.currentTimeMillis() + expiracionTiempo);
 		
 		Map<String, Object> map = new HashMap<>();
 		map.put("nombre", user);
+		map.put("id", id);//ID Y ROL PARA NO CONSULTAR LA BD EN CADA PETICIÓN
+		map.put("rol", rol);
 		
-		return Jwts.builder()
+		return CREAR.record(() -> Jwts.builder()
 				.setSubject(email)
 				.setExpiration(expiracionFecha)
 				.addClaims(map)
-				.signWith(Keys.hmacShaKeyFor(TOKEN_FIRMA.getBytes()))
-				.compact();
+				.signWith(CLAVE)
+				.compact());
 	}
 	
-	public static UsernamePasswordAuthenticationToken getAuth(String token) {
+	//VERIFICA LA FIRMA Y LA EXPIRACIÓN; DEVUELVE NULL SI EL TOKEN NO ES VÁLIDO
+	public static Claims getClaims(String token) {
 		
+		long inicio = System.nanoTime();
 		try {
 			
-			Claims claims = Jwts.parserBuilder()
-					.setSigningKey(TOKEN_FIRMA.getBytes())
-					.build()
-					.parseClaimsJws(token)
-					.getBody();
-			
-			String email = claims.getSubject();
-			return new UsernamePasswordAuthenticationToken(email, null, Collections.emptyList());
-					
+			Claims claims = PARSER.parseClaimsJws(token).getBody();
+			VERIFICAR_OK.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+			return claims;
 			
 		} catch (Exception e) {
-			System.out.println("Sucedio un error al comprobar el token: " + e.getMessage());
+			VERIFICAR_FALLO.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+			//CUALQUIERA PUEDE ENVIAR UN TOKEN VENCIDO O ALTERADO: DEBUG PARA NO LLENAR EL LOG
+			log.debug("Token rechazado: {}", e.getMessage());
 			return null;
 		}
+	}
+	
+	public static UsernamePasswordAuthenticationToken getAuth(Claims claims) {
 		
+		return AUTENTICAR.record(() -> {
+			UsuarioPrincipal principal = new UsuarioPrincipal(
+					claims.get("id", Integer.class),
+					claims.getSubject(),
+					claims.get("rol", String.class));
+			return new UsernamePasswordAuthenticationToken(principal, null, autoridades(principal.rol()));
+		});
+	}
+	
+	//EL ROL DEL TOKEN SE TRADUCE A LA AUTORIDAD QUE USA SecurityConfig ('administrador' -> ROLE_ADMIN)
+	private static List<GrantedAuthority> autoridades(String rol) {
+		if (rol == null) {
+			return Collections.emptyList();
+		}
+		String nombre = "administrador".equalsIgnoreCase(rol) ? "ADMIN" : rol.toUpperCase();
+		return List.of(new SimpleGrantedAuthority("ROLE_" + nombre));
+	}
+	
+	public static UsernamePasswordAuthenticationToken getAuth(String token) {
 		
+		Claims claims = getClaims(token);
+		return claims != null ? getAuth(claims) : null;
 	}
 
 }
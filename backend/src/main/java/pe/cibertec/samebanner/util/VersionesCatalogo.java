@@ -0,0 +1,144 @@
+package pe.cibertec.samebanner.util;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.CacheControl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Versión de cada tabla del catálogo, usada como ETag de sus listados y para descartar las
+ * caches en memoria que se armaron con una versión anterior.
+ *
+ * La versión vive en la tabla {@code versiones_catalogo}: cada escritura la incrementa en su
+ * misma transacción ({@link #incrementar(Tabla)}), así todas las instancias detrás del balanceador
+ * comparten los mismos ETag. Las lecturas solo consultan la copia en memoria; esta instancia la
+ * actualiza al confirmar sus propias escrituras, y las de las demás instancias se ven en la
+ * siguiente relectura ({@code samebanner.catalogo.versiones.refresco-ms}), hecha en segundo plano
+ * para que un GET con If-None-Match siga respondiendo 304 sin consultar la base de datos.
+ */
+@Component
+public class VersionesCatalogo {
+
+	public enum Tabla {
+		CURSOS, CARRERAS, DOCENTES
+	}
+
+	public static final String TABLA = "versiones_catalogo";
+	public static final String COLUMNA_TABLA = "tabla";
+	public static final String COLUMNA_VERSION = "version";
+
+	private static final String INCREMENTAR_SQL = "UPDATE " + TABLA + " SET " + COLUMNA_VERSION + " = "
+			+ COLUMNA_VERSION + " + 1 WHERE " + COLUMNA_TABLA + " = ?";
+	private static final String INSERTAR_SQL = "INSERT INTO " + TABLA + " (" + COLUMNA_TABLA + ", "
+			+ COLUMNA_VERSION + ") VALUES (?, ?)";
+	private static final String VERSION_SQL = "SELECT " + COLUMNA_VERSION + " FROM " + TABLA + " WHERE "
+			+ COLUMNA_TABLA + " = ?";
+	private static final String LEER_SQL = "SELECT " + COLUMNA_TABLA + ", " + COLUMNA_VERSION + " FROM " + TABLA;
+
+	private static final Logger log = LoggerFactory.getLogger(VersionesCatalogo.class);
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Map<Tabla, AtomicLong> versiones = new EnumMap<>(Tabla.class);
+	private final Map<Tabla, CacheControl> cacheControl = new EnumMap<>(Tabla.class);
+
+	public VersionesCatalogo(JdbcTemplate jdbcTemplate,
+			@Value("${samebanner.http.cache.cursos-segundos:0}") long cursos,
+			@Value("${samebanner.http.cache.carreras-segundos:3600}") long carreras,
+			@Value("${samebanner.http.cache.docentes-segundos:600}") long docentes) {
+		this.jdbcTemplate = jdbcTemplate;
+		for (Tabla tabla : Tabla.values()) {
+			versiones.put(tabla, new AtomicLong());
+		}
+		cacheControl.put(Tabla.CURSOS, cacheControl(cursos));
+		cacheControl.put(Tabla.CARRERAS, cacheControl(carreras));
+		cacheControl.put(Tabla.DOCENTES, cacheControl(docentes));
+	}
+
+	/**
+	 * Incrementa la versión dentro de la transacción de quien escribe: otra instancia no puede ver
+	 * la versión nueva sin ver también los datos. La copia local se actualiza al confirmar.
+	 */
+	public void incrementar(Tabla tabla) {
+		if (jdbcTemplate.update(INCREMENTAR_SQL, tabla.name()) == 0) {
+			crearFila(tabla);
+		}
+		long version = jdbcTemplate.queryForObject(VERSION_SQL, Long.class, tabla.name());
+		if (TransactionSynchronizationManager.isActualTransactionActive()
+				&& TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					actualizar(tabla, version);
+				}
+			});
+		} else {
+			actualizar(tabla, version);
+		}
+	}
+
+	public long version(Tabla tabla) {
+		return versiones.get(tabla).get();
+	}
+
+	// Trae las escrituras confirmadas por otras instancias; si la base no responde se sigue con la versión conocida
+	@Scheduled(fixedDelayString = "${samebanner.catalogo.versiones.refresco-ms:1000}")
+	public void refrescar() {
+		try {
+			jdbcTemplate.query(LEER_SQL, fila -> {
+				for (Tabla tabla : Tabla.values()) {
+					if (tabla.name().equals(fila.getString(1))) {
+						actualizar(tabla, fila.getLong(2));
+					}
+				}
+			});
+		} catch (DataAccessException e) {
+			log.warn("No se pudieron leer las versiones del catálogo: {}", e.getMessage());
+		}
+	}
+
+	public String etag(Tabla tabla) {
+		return etag(tabla, version(tabla));
+	}
+
+	public String etag(Tabla tabla, long version) {
+		return "\"" + tabla.name().toLowerCase() + "-" + version + "\"";
+	}
+
+	public CacheControl cacheControl(Tabla tabla) {
+		return cacheControl.get(tabla);
+	}
+
+	// La versión nunca retrocede, aunque una relectura llegue después de una escritura local
+	private void actualizar(Tabla tabla, long version) {
+		versiones.get(tabla).accumulateAndGet(version, Math::max);
+	}
+
+	// Una fila nueva empieza en la hora actual: si la tabla se vuelve a crear, los ETag anteriores no coinciden
+	private void crearFila(Tabla tabla) {
+		try {
+			jdbcTemplate.update(INSERTAR_SQL, tabla.name(), System.currentTimeMillis());
+		} catch (DuplicateKeyException e) {
+			// Otra instancia la creó al mismo tiempo
+			jdbcTemplate.update(INCREMENTAR_SQL, tabla.name());
+		}
+	}
+
+	// Las respuestas requieren el token, por eso son privadas; con 0 segundos el cliente revalida siempre
+	private static CacheControl cacheControl(long segundos) {
+		return segundos > 0
+				? CacheControl.maxAge(segundos, TimeUnit.SECONDS).cachePrivate()
+				: CacheControl.noCache().cachePrivate();
+	}
+}
@@ -0,0 +1,50 @@
+package pe.cibertec.samebanner;
+
+import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import pe.cibertec.samebanner.model.Curso;
+
+/**
+ * Datos de prueba únicos. Las clases que comparten el contexto de Spring comparten también la base
+ * H2 en memoria, así que los ids de usuario y los códigos salen de contadores comunes y no del
+ * reloj: dos llamadas nunca devuelven el mismo valor.
+ */
+public final class DatosPrueba {
+
+    // Lejos de los ids que reparte la secuencia de usuarios en la base de pruebas
+    private static final AtomicInteger USUARIOS = new AtomicInteger(1_000_000);
+    private static final AtomicInteger CODIGOS = new AtomicInteger();
+
+    private DatosPrueba() {
+    }
+
+    public static int usuarioId() {
+        return USUARIOS.getAndIncrement();
+    }
+
+    // Primero de un rango de ids consecutivos del tamaño pedido
+    public static int usuarioIds(int cantidad) {
+        return USUARIOS.getAndAdd(cantidad);
+    }
+
+    public static String codigo(String prefijo) {
+        return prefijo + CODIGOS.incrementAndGet();
+    }
+
+    // Curso activo del Ciclo_01, sin guardar, de hora y media desde la hora indicada
+    public static Curso curso(String codigo, int vacantes, String dia, int hora) {
+        Curso curso = new Curso();
+        curso.setCodigoCurso(codigo);
+        curso.setNombre("Curso " + codigo);
+        curso.setCreditos(3);
+        curso.setCiclo("Ciclo_01");
+        curso.setVacantesTotales(vacantes);
+        curso.setVacantesDisponibles(vacantes);
+        curso.setHorarioDias(dia);
+        curso.setHoraInicio(LocalTime.of(hora, 0));
+        curso.setHoraFin(LocalTime.of(hora + 1, 30));
+        curso.setActivo(true);
+        return curso;
+    }
+}
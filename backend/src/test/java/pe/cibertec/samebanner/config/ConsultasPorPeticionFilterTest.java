@@ -0,0 +1,84 @@
+package pe.cibertec.samebanner.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import pe.cibertec.samebanner.DatosPrueba;
+import pe.cibertec.samebanner.repository.CursoRepository;
+import pe.cibertec.samebanner.service.IProyeccionService;
+import pe.cibertec.samebanner.util.Token;
+
+@SpringBootTest(properties = "samebanner.consultas.cabeceras=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConsultasPorPeticionFilterTest {
+
+    private static final String[] DIAS = {"Lunes", "Martes", "Miércoles", "Jueves", "Viernes", "Sábado"};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IProyeccionService proyeccionService;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    // findByUsuarioId con los cursos en la misma consulta; serializar la respuesta no consulta más
+    private static final int PRESUPUESTO_CONSULTAR_PROYECCION = 1;
+
+    // La cabecera cuenta también lo que se consulta al escribir el JSON, donde aparecen los N+1
+    @Test
+    void consultarLaProyeccionNoDependeDeLaCantidadDeCursos() throws Exception {
+        int conDos = consultasAlConsultarProyeccion(2);
+        int conDiez = consultasAlConsultarProyeccion(10);
+
+        assertThat(conDos).isEqualTo(PRESUPUESTO_CONSULTAR_PROYECCION);
+        assertThat(conDiez).isEqualTo(PRESUPUESTO_CONSULTAR_PROYECCION);
+    }
+
+    // Las exportaciones se escriben por partes: con las cabeceras activas no se guardan en memoria
+    @Test
+    void lasExportacionesNoSeGuardanEnMemoria() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/admin/export/courses")
+                .header("Authorization", "Bearer " + Token.crearToken(1, "Luis", "luis@cibertec.edu.pe", "administrador")))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(resultado.getResponse().getHeader(ConsultasPorPeticionFilter.CABECERA_CONSULTAS)).isNull();
+        assertThat(resultado.getResponse().getContentAsString()).isNotEmpty();
+    }
+
+    private int consultasAlConsultarProyeccion(int cantidadCursos) throws Exception {
+        int usuarioId = DatosPrueba.usuarioId();
+        // Cada curso en una franja distinta, así la proyección no tiene conflictos de horario
+        String prefijo = DatosPrueba.codigo("CPP");
+        List<String> codigos = new ArrayList<>();
+        for (int i = 0; i < cantidadCursos; i++) {
+            codigos.add(cursoRepository.save(DatosPrueba.curso(prefijo + "-" + i, 30, DIAS[i % DIAS.length],
+                    8 + 2 * (i / DIAS.length))).getCodigoCurso());
+        }
+        proyeccionService.guardarProyeccion(usuarioId, "Ciclo_01", codigos);
+
+        MvcResult resultado = mockMvc.perform(get("/api/student/projections")
+                .header("Authorization", "Bearer " + Token.crearToken(usuarioId, "Ana", "ana@cibertec.edu.pe", "estudiante")))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String consultas = resultado.getResponse().getHeader(ConsultasPorPeticionFilter.CABECERA_CONSULTAS);
+        assertThat(consultas).isNotNull();
+        return Integer.parseInt(consultas);
+    }
+}
@@ -0,0 +1,66 @@
+package pe.cibertec.samebanner.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class LimitadorPeticionesFilterTest {
+
+    private final LimitadorPeticionesFilter limitador = new LimitadorPeticionesFilter(true,
+            "/api/auth/login=2/60", "1/60", "10.0.0.0/8, 192.168.1.5", 60);
+
+    private static MockHttpServletRequest login(String ip, String... reenviadoPor) {
+        MockHttpServletRequest peticion = new MockHttpServletRequest("POST", "/api/auth/login");
+        peticion.setRemoteAddr(ip);
+        for (String cabecera : reenviadoPor) {
+            peticion.addHeader("X-Forwarded-For", cabecera);
+        }
+        return peticion;
+    }
+
+    private int estado(MockHttpServletRequest peticion) throws Exception {
+        MockHttpServletResponse respuesta = new MockHttpServletResponse();
+        limitador.doFilter(peticion, respuesta, new MockFilterChain());
+        return respuesta.getStatus();
+    }
+
+    @Test
+    void detrasDeUnProxyConfiableSeUsaLaIpReenviada() {
+        assertThat(limitador.direccionCliente(login("10.0.0.7", "203.0.113.9"))).isEqualTo("203.0.113.9");
+        // Varios balanceadores confiables: se salta toda la cadena hasta el primer salto externo
+        assertThat(limitador.direccionCliente(login("10.0.0.7", "203.0.113.9, 192.168.1.5"))).isEqualTo("203.0.113.9");
+        assertThat(limitador.direccionCliente(login("10.0.0.7", "203.0.113.9", "10.1.2.3"))).isEqualTo("203.0.113.9");
+    }
+
+    // Lo que el cliente escribe a la izquierda de la cabecera no cambia su cubeta
+    @Test
+    void laCabeceraNoSePuedeFalsificar() {
+        assertThat(limitador.direccionCliente(login("10.0.0.7", "1.1.1.1, 203.0.113.9"))).isEqualTo("203.0.113.9");
+        assertThat(limitador.direccionCliente(login("198.51.100.4", "1.1.1.1"))).isEqualTo("198.51.100.4");
+        assertThat(limitador.direccionCliente(login("10.0.0.7", "proxy.local"))).isEqualTo("proxy.local");
+    }
+
+    @Test
+    void clientesDistintosDetrasDelMismoProxyTienenCubetasDistintas() throws Exception {
+        assertThat(estado(login("10.0.0.7", "203.0.113.1"))).isEqualTo(200);
+        assertThat(estado(login("10.0.0.7", "203.0.113.1"))).isEqualTo(200);
+        assertThat(estado(login("10.0.0.7", "203.0.113.1"))).isEqualTo(429);
+        assertThat(estado(login("10.0.0.7", "203.0.113.2"))).isEqualTo(200);
+    }
+
+    @Test
+    void sinProxiesConfiablesSeIgnoraLaCabecera() {
+        LimitadorPeticionesFilter directo = new LimitadorPeticionesFilter(true, "/api/**=1/60", "", "", 60);
+        assertThat(directo.direccionCliente(login("10.0.0.7", "203.0.113.9"))).isEqualTo("10.0.0.7");
+    }
+
+    @Test
+    void elLoginSeLimitaPorCuentaSinImportarMayusculas() {
+        assertThat(limitador.esperaLogin("ana@cibertec.edu.pe")).isZero();
+        assertThat(limitador.esperaLogin(" ANA@cibertec.edu.pe")).isPositive();
+        assertThat(limitador.esperaLogin("luis@cibertec.edu.pe")).isZero();
+    }
+}
@@ -0,0 +1,42 @@
+package pe.cibertec.samebanner.security;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import pe.cibertec.samebanner.util.Token;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+// Las pruebas desactivan el registro de Prometheus salvo que se pida
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void elHealthCheckNoLlevaToken() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    // Sin management.server.port, Prometheus queda en el puerto público y es de administración
+    @Test
+    void prometheusEnElPuertoPublicoExigeAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus")
+                .header("Authorization", "Bearer " + Token.crearToken(1, "Ana", "ana@cibertec.edu.pe", "estudiante")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus")
+                .header("Authorization", "Bearer " + Token.crearToken(2, "Luis", "luis@cibertec.edu.pe", "administrador")))
+                .andExpect(status().isOk());
+    }
+}
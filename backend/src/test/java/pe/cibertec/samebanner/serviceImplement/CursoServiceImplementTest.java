@@ -0,0 +1,144 @@
+package pe.cibertec.samebanner.serviceImplement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import pe.cibertec.samebanner.DatosPrueba;
+import pe.cibertec.samebanner.model.Curso;
+import pe.cibertec.samebanner.repository.CursoRepository;
+import pe.cibertec.samebanner.service.ICursoService;
+import pe.cibertec.samebanner.service.IProyeccionService;
+import pe.cibertec.samebanner.util.VersionesCatalogo;
+import pe.cibertec.samebanner.util.VersionesCatalogo.Tabla;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CursoServiceImplementTest {
+
+    @Autowired
+    private ICursoService cursoService;
+
+    @Autowired
+    private IProyeccionService proyeccionService;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VersionesCatalogo versionesCatalogo;
+
+    private Curso curso;
+
+    @BeforeEach
+    void crearCursoConReservas() {
+        Curso nuevo = DatosPrueba.curso(DatosPrueba.codigo("CST"), 40, "Lunes", 8);
+        nuevo.setNombre("Curso editado");
+        curso = cursoRepository.save(nuevo);
+
+        int usuarioBase = DatosPrueba.usuarioIds(3);
+        for (int i = 0; i < 3; i++) {
+            proyeccionService.guardarProyeccion(usuarioBase + i, "Ciclo_01", List.of(curso.getCodigoCurso()));
+        }
+    }
+
+    // Como el panel de administración: manda vacantesDisponibles igual al total
+    private Curso edicionDelPanel(int vacantesTotales) {
+        Curso edicion = new Curso();
+        BeanUtils.copyProperties(curso, edicion);
+        edicion.setId(null);
+        edicion.setNombre("Curso renombrado");
+        edicion.setVacantesTotales(vacantesTotales);
+        edicion.setVacantesDisponibles(vacantesTotales);
+        return edicion;
+    }
+
+    @Test
+    void editarCursoConservaLasVacantesReservadas() {
+        Curso actualizado = cursoService.actualizarCurso(curso.getId(), edicionDelPanel(40));
+
+        assertThat(actualizado.getVacantesDisponibles()).isEqualTo(37);
+        assertThat(cursoRepository.findById(curso.getId())).get()
+                .satisfies(c -> {
+                    assertThat(c.getNombre()).isEqualTo("Curso renombrado");
+                    assertThat(c.getVacantesDisponibles()).isEqualTo(37);
+                });
+    }
+
+    @Test
+    void cambiarVacantesTotalesTrasladaSoloLaDiferencia() {
+        assertThat(cursoService.actualizarCurso(curso.getId(), edicionDelPanel(50)).getVacantesDisponibles()).isEqualTo(47);
+        assertThat(cursoService.actualizarCurso(curso.getId(), edicionDelPanel(3)).getVacantesDisponibles()).isZero();
+        assertThat(cursoRepository.findById(curso.getId()).orElseThrow().getVacantesTotales()).isEqualTo(3);
+    }
+
+    @Test
+    void noSePuedenDejarMenosVacantesQueLasReservadas() {
+        assertThatThrownBy(() -> cursoService.actualizarCurso(curso.getId(), edicionDelPanel(2)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("(3)");
+
+        Curso enBase = cursoRepository.findById(curso.getId()).orElseThrow();
+        assertThat(enBase.getNombre()).isEqualTo("Curso editado");
+        assertThat(enBase.getVacantesTotales()).isEqualTo(40);
+        assertThat(enBase.getVacantesDisponibles()).isEqualTo(37);
+    }
+
+    // Una lectura de otro hilo entre el DELETE y el commit todavía ve el curso y llena la cache;
+    // al confirmar el borrado esa entrada se descarta
+    @Test
+    void eliminarCursoNoDejaEnCacheUnListadoLeidoAntesDelCommit() {
+        Curso sinReservas = new Curso();
+        BeanUtils.copyProperties(curso, sinReservas);
+        sinReservas.setId(null);
+        sinReservas.setCodigoCurso(curso.getCodigoCurso() + "E");
+        Integer id = cursoRepository.save(sinReservas).getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            cursoService.eliminarCurso(id);
+            assertThat(CompletableFuture.supplyAsync(() -> cursoService.listarCursos(null, null)).join())
+                    .anyMatch(c -> id.equals(c.getId()));
+        });
+
+        assertThat(cursoService.listarCursos(null, null)).noneMatch(c -> id.equals(c.getId()));
+        assertThat(cursoService.listarResumenCursos(null, null)).noneMatch(c -> id.equals(c.getId()));
+    }
+
+    // Otra instancia escribe e incrementa la versión en la base: al releerla se descarta la cache y cambia el ETag
+    @Test
+    void unaVersionIncrementadaEnLaBaseDescartaElCatalogo() {
+        versionesCatalogo.incrementar(Tabla.CURSOS);
+        assertThat(cursoService.listarCursos(null, null)).anyMatch(c -> "Curso editado".equals(c.getNombre())
+                && curso.getId().equals(c.getId()));
+        String etag = versionesCatalogo.etag(Tabla.CURSOS);
+
+        jdbcTemplate.update("UPDATE cursos SET nombre = 'Curso de otra instancia' WHERE id = ?", curso.getId());
+        assertThat(cursoService.listarCursos(null, null)).anyMatch(c -> "Curso editado".equals(c.getNombre())
+                && curso.getId().equals(c.getId()));
+
+        jdbcTemplate.update("UPDATE versiones_catalogo SET version = version + 1 WHERE tabla = 'CURSOS'");
+        versionesCatalogo.refrescar();
+
+        assertThat(versionesCatalogo.etag(Tabla.CURSOS)).isNotEqualTo(etag);
+        assertThat(cursoService.listarCursos(null, null)).anyMatch(c -> "Curso de otra instancia".equals(c.getNombre())
+                && curso.getId().equals(c.getId()));
+    }
+}
@@ -0,0 +1,80 @@
+package pe.cibertec.samebanner.serviceImplement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import pe.cibertec.samebanner.DatosPrueba;
+import pe.cibertec.samebanner.dto.DemandaCursoDTO;
+import pe.cibertec.samebanner.model.Curso;
+import pe.cibertec.samebanner.repository.CursoRepository;
+import pe.cibertec.samebanner.service.IDemandaService;
+import pe.cibertec.samebanner.service.IProyeccionService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DemandaServiceImplementTest {
+
+    @Autowired
+    private IDemandaService demandaService;
+
+    @Autowired
+    private IProyeccionService proyeccionService;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    // Reconstrucciones en medio de proyecciones confirmándose: ningún cambio queda contado dos
+    // veces (confirmado antes del conteo y sumado en memoria después) ni se pierde
+    @Test
+    void reconstruirDuranteProyeccionesNoDuplicaNiPierdeCambios() throws Exception {
+        int estudiantes = 200;
+        Curso curso = cursoRepository.save(DatosPrueba.curso(DatosPrueba.codigo("DEM"), estudiantes, "Lunes", 8));
+        int usuarioBase = DatosPrueba.usuarioIds(estudiantes);
+
+        ExecutorService hilos = Executors.newFixedThreadPool(9);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<?>> proyecciones = new ArrayList<>();
+        try {
+            for (int i = 0; i < estudiantes; i++) {
+                int usuarioId = usuarioBase + i;
+                proyecciones.add(hilos.submit(() -> {
+                    salida.await();
+                    return proyeccionService.guardarProyeccion(usuarioId, "Ciclo_01", List.of(curso.getCodigoCurso()));
+                }));
+            }
+            Future<?> reconstrucciones = hilos.submit(() -> {
+                salida.await();
+                while (!proyecciones.stream().allMatch(Future::isDone)) {
+                    demandaService.reconstruir();
+                }
+                return null;
+            });
+            salida.countDown();
+            for (Future<?> proyeccion : proyecciones) {
+                proyeccion.get(2, TimeUnit.MINUTES);
+            }
+            reconstrucciones.get(2, TimeUnit.MINUTES);
+        } finally {
+            hilos.shutdownNow();
+        }
+
+        demandaService.volcar();
+        assertThat(demandaService.verificar()).isEmpty();
+        assertThat(demandaService.listarDemanda().stream()
+                .filter(demanda -> demanda.getCursoId().equals(curso.getId()))
+                .findFirst().map(DemandaCursoDTO::getProyectados).orElseThrow())
+                .isEqualTo(estudiantes);
+    }
+}
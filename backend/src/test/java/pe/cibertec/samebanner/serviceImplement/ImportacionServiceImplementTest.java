@@ -0,0 +1,75 @@
+package pe.cibertec.samebanner.serviceImplement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import pe.cibertec.samebanner.DatosPrueba;
+import pe.cibertec.samebanner.dto.ResultadoImportacionDTO;
+import pe.cibertec.samebanner.model.Carrera;
+import pe.cibertec.samebanner.repository.CarreraRepository;
+import pe.cibertec.samebanner.service.IImportacionService;
+import pe.cibertec.samebanner.util.FormatoExportacion;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ImportacionServiceImplementTest {
+
+    private static final String CABECERA = "codigoCurso,nombre,descripcion,creditos,ciclo,codigoCarrera,turno,"
+            + "vacantesTotales,horarioDias,horaInicio,horaFin\n";
+
+    @Autowired
+    private IImportacionService importacionService;
+
+    @Autowired
+    private CarreraRepository carreraRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String codigoCarrera;
+
+    @BeforeEach
+    void crearCarrera() {
+        codigoCarrera = DatosPrueba.codigo("IMP");
+        Carrera carrera = new Carrera();
+        carrera.setCodigoCarrera(codigoCarrera);
+        carrera.setNombre("Carrera " + codigoCarrera);
+        carrera.setActiva(true);
+        carreraRepository.save(carrera);
+    }
+
+    // La base rechaza la última fila del lote (la columna de pruebas admite 255 caracteres): el lote
+    // se deshace completo y el reintento fila por fila inserta cada fila válida una sola vez
+    @Test
+    void loteFallidoSeReintentaSinDuplicarFilas() throws Exception {
+        String prefijo = DatosPrueba.codigo("IMC");
+        String csv = CABECERA
+                + fila(prefijo + "-1", "Primera") + fila(prefijo + "-2", "Segunda")
+                + fila(prefijo + "-3", "x".repeat(300));
+
+        ResultadoImportacionDTO resultado = importacionService.importarCursos(FormatoExportacion.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(resultado.getLotes()).isEqualTo(1);
+        assertThat(resultado.getInsertadas()).isEqualTo(2);
+        assertThat(resultado.getRechazadas()).isEqualTo(1);
+        assertThat(resultado.getErrores()).singleElement()
+                .satisfies(error -> assertThat(error.getCodigoCurso()).isEqualTo(prefijo + "-3"));
+        assertThat(jdbcTemplate.queryForList("SELECT codigo_curso FROM cursos WHERE codigo_curso LIKE ? ORDER BY codigo_curso",
+                String.class, prefijo + "-%")).containsExactly(prefijo + "-1", prefijo + "-2");
+    }
+
+    private String fila(String codigoCurso, String descripcion) {
+        return codigoCurso + ",Curso " + codigoCurso + "," + descripcion + ",3,Ciclo_01," + codigoCarrera
+                + ",manana,30,Lunes,08:00,09:30\n";
+    }
+}
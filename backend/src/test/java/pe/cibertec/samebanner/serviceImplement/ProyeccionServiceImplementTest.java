@@ -0,0 +1,207 @@
+package pe.cibertec.samebanner.serviceImplement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import pe.cibertec.samebanner.DatosPrueba;
+import pe.cibertec.samebanner.exception.SinVacantesException;
+import pe.cibertec.samebanner.model.Curso;
+import pe.cibertec.samebanner.repository.CursoRepository;
+import pe.cibertec.samebanner.service.ICursoService;
+import pe.cibertec.samebanner.service.IProyeccionService;
+import pe.cibertec.samebanner.util.ContadorConsultas;
+import pe.cibertec.samebanner.util.VersionesCatalogo;
+import pe.cibertec.samebanner.util.VersionesCatalogo.Tabla;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProyeccionServiceImplementTest {
+
+    private static final String[] DIAS = {"Lunes", "Martes", "Miércoles", "Jueves", "Viernes", "Sábado"};
+
+    @Autowired
+    private IProyeccionService proyeccionService;
+
+    @Autowired
+    private ICursoService cursoService;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private ContadorConsultas contadorConsultas;
+
+    @Autowired
+    private VersionesCatalogo versionesCatalogo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<String> codigos = new ArrayList<>();
+
+    @BeforeEach
+    void crearCursos() {
+        // Doce cursos en franjas distintas, así ninguna combinación tiene conflicto de horario
+        String prefijo = DatosPrueba.codigo("PST");
+        for (int i = 0; i < 12; i++) {
+            codigos.add(crearCurso(prefijo + "-" + i, 40, DIAS[i % DIAS.length], 8 + 2 * (i / DIAS.length)).getCodigoCurso());
+        }
+    }
+
+    private Curso crearCurso(String codigo, int vacantes, String dia, int hora) {
+        return cursoRepository.save(DatosPrueba.curso(codigo, vacantes, dia, hora));
+    }
+
+    // Crear una proyección cuesta las mismas sentencias con 2 cursos que con 10: una búsqueda
+    // IN (...), un lote de descuentos de vacantes y un lote de INSERT en proyeccion_cursos
+    @Test
+    void guardarProyeccionNuevaUsaLasMismasSentenciasSinImportarLosCursos() {
+        int usuarioBase = DatosPrueba.usuarioIds(3);
+        // Calienta los bloques de ids para que la medición no incluya una reserva en secuencias
+        proyeccionService.guardarProyeccion(usuarioBase, "Ciclo_01", codigos.subList(0, 1));
+
+        int conDos = medirProyeccionNueva(usuarioBase + 1, codigos.subList(0, 2));
+        int conDiez = medirProyeccionNueva(usuarioBase + 2, codigos.subList(0, 10));
+
+        assertThat(conDos).isEqualTo(PRESUPUESTO_PROYECCION_NUEVA);
+        assertThat(conDiez).isEqualTo(PRESUPUESTO_PROYECCION_NUEVA);
+    }
+
+    // Proyección, filas y cursos llegan en un solo SELECT; serializarla fuera de la transacción
+    // (como hace el controlador) no dispara cargas perezosas
+    @Test
+    void obtenerProyeccionDeDiezCursosUsaUnaSentencia() throws Exception {
+        int usuarioId = DatosPrueba.usuarioId();
+        proyeccionService.guardarProyeccion(usuarioId, "Ciclo_01", codigos.subList(0, 10));
+
+        ContadorConsultas.Medicion medicion = contadorConsultas.iniciar();
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(proyeccionService.obtenerProyeccion(usuarioId).orElseThrow());
+        } finally {
+            contadorConsultas.terminar();
+        }
+
+        assertThat(medicion.getConsultas()).isEqualTo(1);
+        for (String codigo : codigos.subList(0, 10)) {
+            assertThat(json).contains(codigo);
+        }
+    }
+
+    // Las reservas no descartan el catálogo ni cambian su ETag: las vacantes van aparte y se
+    // releen de la base cuando vence el intervalo de refresco
+    @Test
+    void reservarVacantesNoRenuevaElCatalogoNiSuVersion() throws Exception {
+        String codigo = codigos.get(0);
+        Integer cursoId = cursoRepository.findByCodigoCurso(codigo).orElseThrow().getId();
+        List<Curso> catalogo = cursoService.listarCursos(null, null);
+        long version = versionesCatalogo.version(Tabla.CURSOS);
+        assertThat(catalogo).allSatisfy(curso -> assertThat(curso.getVacantesDisponibles()).isNull());
+        assertThat(vacantesListadas(cursoId)).isEqualTo(40);
+
+        proyeccionService.guardarProyeccion(DatosPrueba.usuarioId(), "Ciclo_01", List.of(codigo));
+
+        assertThat(versionesCatalogo.version(Tabla.CURSOS)).isEqualTo(version);
+        assertThat(cursoService.listarCursos(null, null)).isSameAs(catalogo);
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (vacantesListadas(cursoId) != 39) {
+            assertThat(System.nanoTime()).as("vacantes de %s", codigo).isLessThan(limite);
+            Thread.sleep(50);
+        }
+    }
+
+    // Cientos de estudiantes piden a la vez el mismo curso con pocas vacantes junto con otro que
+    // sobra: se confirman exactamente tantas proyecciones como vacantes, y los rechazados no se
+    // quedan con ninguna vacante del segundo curso
+    @Test
+    void reservasConcurrentesNoSobrevenden() throws Exception {
+        int estudiantes = 300;
+        int vacantes = 25;
+        Curso escaso = crearCurso(DatosPrueba.codigo("ESC"), vacantes, "Domingo", 8);
+        Curso amplio = crearCurso(DatosPrueba.codigo("AMP"), estudiantes, "Domingo", 12);
+        int usuarioBase = DatosPrueba.usuarioIds(estudiantes);
+
+        // Un hilo por estudiante, muchos más que conexiones en el pool de pruebas: los bloques de ids
+        // que se agotan a mitad de la carga no deben dejar hilos esperando una conexión que no llega
+        ExecutorService hilos = Executors.newFixedThreadPool(estudiantes);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < estudiantes; i++) {
+                int usuarioId = usuarioBase + i;
+                resultados.add(hilos.submit(() -> {
+                    salida.await();
+                    try {
+                        proyeccionService.guardarProyeccion(usuarioId, "Ciclo_01",
+                                List.of(escaso.getCodigoCurso(), amplio.getCodigoCurso()));
+                        return true;
+                    } catch (SinVacantesException e) {
+                        return false;
+                    }
+                }));
+            }
+            salida.countDown();
+            int confirmadas = 0;
+            for (Future<Boolean> resultado : resultados) {
+                if (resultado.get(2, TimeUnit.MINUTES)) {
+                    confirmadas++;
+                }
+            }
+
+            assertThat(confirmadas).isEqualTo(vacantes);
+            assertThat(vacantesEnBase(escaso.getId())).isZero();
+            assertThat(vacantesEnBase(amplio.getId())).isEqualTo(estudiantes - vacantes);
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM proyeccion_cursos WHERE curso_id = ?",
+                    Integer.class, escaso.getId())).isEqualTo(vacantes);
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    private int vacantesEnBase(Integer cursoId) {
+        return jdbcTemplate.queryForObject("SELECT vacantes_disponibles FROM cursos WHERE id = ?", Integer.class, cursoId);
+    }
+
+    private int vacantesListadas(Integer cursoId) {
+        return cursoService.listarVacantes(null, null).stream()
+                .filter(curso -> cursoId.equals(curso.getId()))
+                .findFirst().orElseThrow()
+                .getVacantesDisponibles();
+    }
+
+    // En la transacción: findByUsuarioId, IN (...) de cursos, lote de vacantes, INSERT de la
+    // proyección, lote de proyeccion_cursos y la vista del estudiante vaciada. Rehacer la vista
+    // después del commit corre en otro hilo y no cuenta aquí
+    private static final int PRESUPUESTO_PROYECCION_NUEVA = 6;
+
+    private int medirProyeccionNueva(int usuarioId, List<String> codigosCursos) {
+        // El índice de códigos se vacía para medir también la consulta IN (...)
+        cursoService.recargarCatalogo();
+        ContadorConsultas.Medicion medicion = contadorConsultas.iniciar();
+        try {
+            proyeccionService.guardarProyeccion(usuarioId, "Ciclo_01", codigosCursos);
+        } finally {
+            contadorConsultas.terminar();
+        }
+        return medicion.getConsultas();
+    }
+}
@@ -0,0 +1,94 @@
+package pe.cibertec.samebanner.serviceImplement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+
+import pe.cibertec.samebanner.DatosPrueba;
+import pe.cibertec.samebanner.dto.EstadisticasCacheDTO;
+import pe.cibertec.samebanner.model.Usuario;
+import pe.cibertec.samebanner.repository.UsuarioRepository;
+import pe.cibertec.samebanner.service.IUsuarioService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceImplementTest {
+
+    @Autowired
+    private UserServiceImplement userService;
+
+    @Autowired
+    private IUsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void crearUsuario() {
+        Usuario nuevo = new Usuario();
+        nuevo.setNombre("Prueba");
+        nuevo.setEmail(DatosPrueba.codigo("ust") + "@samebanner.pe");
+        nuevo.setPassword("hash-inicial");
+        nuevo.setRol("ESTUDIANTE");
+        nuevo.setFechaCreacion(LocalDateTime.now());
+        usuario = usuarioRepository.save(nuevo);
+    }
+
+    // Un login correcto no debe contar como fallo de la cache de emails inexistentes
+    @Test
+    void loginCorrectoNoConsultaLaCacheDeEmailsDesconocidos() {
+        long fallosAntes = estadisticas("emailsDesconocidos").getFallos();
+        long aciertosAntes = estadisticas("usuarios").getAciertos();
+
+        userService.loadUserByUsername(usuario.getEmail());
+        userService.loadUserByUsername(usuario.getEmail());
+
+        assertThat(estadisticas("emailsDesconocidos").getFallos()).isEqualTo(fallosAntes + 1);
+        assertThat(estadisticas("usuarios").getAciertos()).isEqualTo(aciertosAntes + 1);
+    }
+
+    @Test
+    void emailInexistenteSeRecuerdaEnLaCacheNegativa() {
+        String email = DatosPrueba.codigo("nadie") + "@samebanner.pe";
+        long aciertosAntes = estadisticas("emailsDesconocidos").getAciertos();
+
+        assertThatThrownBy(() -> userService.loadUserByUsername(email)).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> userService.loadUserByUsername(email)).isInstanceOf(UsernameNotFoundException.class);
+
+        assertThat(estadisticas("emailsDesconocidos").getAciertos()).isEqualTo(aciertosAntes + 1);
+    }
+
+    // El rehash tras el login no modifica el Usuario en cache y el perfil de /api/auth/me se renueva
+    @Test
+    void actualizarPasswordRenuevaLasCachesSinModificarLaCopiaGuardada() {
+        UserDetails cargado = userService.loadUserByUsername(usuario.getEmail());
+        Usuario enCache = ((UserDetailImplement) cargado).getUsuario();
+        assertThat(usuarioService.obtenerPerfil(usuario.getId())).get()
+                .extracting(Usuario::getPassword).isEqualTo("hash-inicial");
+
+        userService.updatePassword(cargado, "hash-nuevo");
+
+        assertThat(enCache.getPassword()).isEqualTo("hash-inicial");
+        assertThat(userService.loadUserByUsername(usuario.getEmail()).getPassword()).isEqualTo("hash-nuevo");
+        assertThat(usuarioService.obtenerPerfil(usuario.getId())).get()
+                .extracting(Usuario::getPassword).isEqualTo("hash-nuevo");
+    }
+
+    private EstadisticasCacheDTO estadisticas(String nombre) {
+        return usuarioService.estadisticasCache().stream()
+                .filter(e -> e.getNombre().equals(nombre))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,132 @@
+package pe.cibertec.samebanner.serviceImplement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+
+import pe.cibertec.samebanner.DatosPrueba;
+import pe.cibertec.samebanner.event.ProyeccionesModificadasEvent;
+import pe.cibertec.samebanner.model.Curso;
+import pe.cibertec.samebanner.model.VistaProyeccion;
+import pe.cibertec.samebanner.repository.CursoRepository;
+import pe.cibertec.samebanner.repository.VistaProyeccionRepository;
+import pe.cibertec.samebanner.service.IProyeccionService;
+import pe.cibertec.samebanner.service.IVistaProyeccionService;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class VistaProyeccionServiceImplementTest {
+
+    @Autowired
+    private IVistaProyeccionService vistaProyeccionService;
+
+    @Autowired
+    private IProyeccionService proyeccionService;
+
+    @Autowired
+    private VistaProyeccionRepository vistaProyeccionRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    private Curso curso;
+
+    @BeforeEach
+    void crearCurso() {
+        curso = cursoRepository.save(DatosPrueba.curso(DatosPrueba.codigo("VPT"), 40, "Lunes", 8));
+    }
+
+    // La vista se rehace en otro hilo, pero quien acaba de guardar ya no lee la anterior
+    @Test
+    void lecturaInmediataDespuesDeGuardarVeLaProyeccionNueva() throws Exception {
+        int usuarioId = DatosPrueba.usuarioId();
+        proyeccionService.guardarProyeccion(usuarioId, "Ciclo_01", List.of(curso.getCodigoCurso()));
+        esperarVista(usuarioId, vista -> vista.getDocumento() != null);
+
+        proyeccionService.guardarProyeccion(usuarioId, "Ciclo_01", List.of());
+
+        assertThat(vistaProyeccionService.obtenerVista(usuarioId).orElseThrow().getDocumento())
+                .doesNotContain(curso.getCodigoCurso());
+    }
+
+    // Una lectura que armó la vista antes de que el estudiante guardara no reemplaza la nueva
+    @Test
+    void vistaArmadaAntesDeGuardarNoPisaLaNueva() throws Exception {
+        int usuarioId = DatosPrueba.usuarioId();
+        proyeccionService.guardarProyeccion(usuarioId, "Ciclo_01", List.of(curso.getCodigoCurso()));
+        VistaProyeccion guardada = esperarVista(usuarioId, vista -> vista.getDocumento() != null);
+
+        boolean escrita = vistaProyeccionRepository.guardarSiEsMasReciente(
+                vistaAnterior(usuarioId, guardada.getGeneracion() - 1));
+
+        assertThat(escrita).isFalse();
+        assertThat(vistaProyeccionService.obtenerVista(usuarioId).orElseThrow().getDocumento())
+                .isEqualTo(guardada.getDocumento())
+                .contains(curso.getCodigoCurso());
+    }
+
+    // Al descartar, incluso un usuario sin fila queda marcado: una lectura en curso desde antes
+    // del cambio no puede llenarla, y la siguiente lectura la arma con los datos nuevos
+    @Test
+    void descartarBloqueaLasVistasArmadasAntesDelCambio() throws Exception {
+        int conVista = DatosPrueba.usuarioIds(2);
+        int sinVista = conVista + 1;
+        proyeccionService.guardarProyeccion(conVista, "Ciclo_01", List.of(curso.getCodigoCurso()));
+        proyeccionService.guardarProyeccion(sinVista, "Ciclo_01", List.of(curso.getCodigoCurso()));
+        esperarVista(sinVista, vista -> vista.getDocumento() != null);
+        vistaProyeccionRepository.deleteById(sinVista);
+        long antesDelCambio = esperarVista(conVista, vista -> vista.getDocumento() != null).getGeneracion();
+
+        eventos.publishEvent(new ProyeccionesModificadasEvent(List.of(conVista, sinVista)));
+
+        for (int usuarioId : List.of(conVista, sinVista)) {
+            VistaProyeccion descartada = esperarVista(usuarioId, vista -> vista.getGeneracion() > antesDelCambio);
+            assertThat(descartada.getDocumento()).isNull();
+            assertThat(vistaProyeccionRepository.guardarSiEsMasReciente(
+                    vistaAnterior(usuarioId, antesDelCambio + 1))).isFalse();
+
+            VistaProyeccion reconstruida = vistaProyeccionService.obtenerVista(usuarioId).orElseThrow();
+            assertThat(reconstruida.getDocumento()).contains(curso.getCodigoCurso());
+            assertThat(vistaProyeccionRepository.findById(usuarioId).orElseThrow().getGeneracion())
+                    .isGreaterThan(descartada.getGeneracion());
+        }
+    }
+
+    // Las vistas se rehacen en otro hilo después del commit
+    private VistaProyeccion esperarVista(Integer usuarioId, Predicate<VistaProyeccion> condicion)
+            throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            Optional<VistaProyeccion> vista = vistaProyeccionRepository.findById(usuarioId);
+            if (vista.isPresent() && condicion.test(vista.get())) {
+                return vista.get();
+            }
+            assertThat(System.nanoTime()).as("vista de %d", usuarioId).isLessThan(limite);
+            Thread.sleep(10);
+        }
+    }
+
+    private static VistaProyeccion vistaAnterior(Integer usuarioId, long generacion) {
+        VistaProyeccion vista = new VistaProyeccion();
+        vista.setUsuarioId(usuarioId);
+        vista.setDocumento("{\"cursos\":[]}");
+        vista.setEtag("anterior");
+        vista.setFechaActualizacion(LocalDateTime.now());
+        vista.setGeneracion(generacion);
+        return vista;
+    }
+}
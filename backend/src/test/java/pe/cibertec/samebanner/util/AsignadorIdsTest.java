@@ -0,0 +1,72 @@
+package pe.cibertec.samebanner.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AsignadorIdsTest {
+
+    // Tabla propia: las secuencias de las entidades tienen bloques reservados por el contexto compartido
+    private static final String SECUENCIA = "pruebas_asignador";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties propiedades;
+
+    private final List<AsignadorIds> asignadores = new ArrayList<>();
+
+    @BeforeEach
+    void crearTablaConFilas() {
+        jdbcTemplate.execute("CREATE TABLE " + SECUENCIA + " (id INT PRIMARY KEY)");
+        jdbcTemplate.update("INSERT INTO " + SECUENCIA + " (id) VALUES (7), (120)");
+    }
+
+    @AfterEach
+    void borrarTabla() {
+        asignadores.forEach(AsignadorIds::cerrar);
+        jdbcTemplate.execute("DROP TABLE " + SECUENCIA);
+        jdbcTemplate.update("DELETE FROM " + AsignadorIds.TABLA + " WHERE " + AsignadorIds.COLUMNA_NOMBRE + " = ?", SECUENCIA);
+    }
+
+    // Sin fila en secuencias, empezar en 1 repetiría los ids que ya tiene la tabla
+    @Test
+    void unaSecuenciaSinFilaParteDelMayorIdDeSuTabla() {
+        assertThat(instancia().reservar(SECUENCIA, 3)).isEqualTo(121);
+    }
+
+    // Dos instancias que crean la fila a la vez reciben rangos distintos
+    @Test
+    void dosInstanciasNoRepitenIdsAlCrearLaSecuencia() {
+        AsignadorIds primera = instancia();
+        AsignadorIds segunda = instancia();
+
+        CompletableFuture<Integer> deLaPrimera = CompletableFuture.supplyAsync(() -> primera.reservar(SECUENCIA, 1));
+        CompletableFuture<Integer> deLaSegunda = CompletableFuture.supplyAsync(() -> segunda.reservar(SECUENCIA, 1));
+
+        int a = deLaPrimera.join();
+        int b = deLaSegunda.join();
+        assertThat(List.of(a, b)).allMatch(id -> id > 120);
+        assertThat(Math.abs(a - b)).isGreaterThanOrEqualTo(AsignadorIds.BLOQUE);
+    }
+
+    private AsignadorIds instancia() {
+        AsignadorIds asignador = new AsignadorIds(propiedades, 2);
+        asignadores.add(asignador);
+        return asignador;
+    }
+}
@@ -0,0 +1,68 @@
+package pe.cibertec.samebanner.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.Test;
+
+class BloqueHorarioTest {
+
+    private static BloqueHorario bloque(String dias, String inicio, String fin) {
+        return BloqueHorario.de(dias, LocalTime.parse(inicio), LocalTime.parse(fin));
+    }
+
+    @Test
+    void aceptaNombresCompletosConYSinTilde() {
+        assertThat(bloque("Lunes,Miércoles", "08:00", "10:00").nombresDias()).containsExactly("Lunes", "Miércoles");
+        assertThat(bloque("MIERCOLES, sabado", "08:00", "10:00").nombresDias()).containsExactly("Miércoles", "Sábado");
+    }
+
+    // El panel de administración envía abreviaturas ("LUN" por defecto, "LUN-MIE" en los ejemplos)
+    @Test
+    void aceptaAbreviaturasYSeparadoresDelPanel() {
+        assertThat(bloque("LUN", "08:00", "10:00").nombresDias()).containsExactly("Lunes");
+        assertThat(bloque("LUN-MIE", "08:00", "10:00").nombresDias()).containsExactly("Lunes", "Miércoles");
+        assertThat(bloque("mar/jue vie", "08:00", "10:00").nombresDias()).containsExactly("Martes", "Jueves", "Viernes");
+        assertThat(bloque("SÁB,DOM", "08:00", "10:00").nombresDias()).containsExactly("Sábado", "Domingo");
+    }
+
+    @Test
+    void abreviaturaYNombreCompletoSeCruzan() {
+        assertThat(bloque("LUN", "08:00", "10:00").seCruzaCon(bloque("Lunes", "09:00", "11:00"))).isTrue();
+    }
+
+    @Test
+    void rangosContiguosODiasDistintosNoSeCruzan() {
+        BloqueHorario lunes = bloque("Lunes", "08:00", "10:00");
+        assertThat(lunes.seCruzaCon(bloque("Lunes", "10:00", "12:00"))).isFalse();
+        assertThat(lunes.seCruzaCon(bloque("Martes", "08:00", "10:00"))).isFalse();
+    }
+
+    @Test
+    void diasEnComunSiguenElOrdenDeLaSemana() {
+        BloqueHorario a = bloque("VIE,LUN,MIE", "08:00", "10:00");
+        BloqueHorario b = bloque("Miércoles,Viernes", "09:00", "11:00");
+        assertThat(a.diasEnComun(b)).containsExactly("Miércoles", "Viernes");
+    }
+
+    @Test
+    void horarioIncompletoOInvertidoEsVacio() {
+        assertThat(BloqueHorario.de(null, LocalTime.of(8, 0), LocalTime.of(10, 0))).isSameAs(BloqueHorario.VACIO);
+        assertThat(bloque("Lunes", "10:00", "08:00")).isSameAs(BloqueHorario.VACIO);
+        assertThat(bloque("Feriado", "08:00", "10:00")).isSameAs(BloqueHorario.VACIO);
+    }
+
+    @Test
+    void validarDiasRechazaDiasNoReconocidos() {
+        assertThatCode(() -> BloqueHorario.validarDias("LUN-MIE")).doesNotThrowAnyException();
+        assertThatCode(() -> BloqueHorario.validarDias(null)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> BloqueHorario.validarDias("Lunes,Lnes"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Día no reconocido: Lnes");
+        assertThatThrownBy(() -> BloqueHorario.validarDias(" "))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,39 @@
+package pe.cibertec.samebanner.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MetricasPoolTest {
+
+    @Autowired
+    private MetricasPool metricasPool;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Con MetricasPool instalado en el pool, las métricas hikaricp_* de Micrometer siguen publicándose
+    @Test
+    void lasAdquisicionesLleganTambienAMicrometer() {
+        long antes = metricasPool.estadisticas().getAdquisiciones();
+
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+
+        assertThat(metricasPool.estadisticas().getAdquisiciones()).isGreaterThan(antes);
+        assertThat(meterRegistry.find("hikaricp.connections").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").timer())
+                .isNotNull()
+                .satisfies(timer -> assertThat(timer.count()).isPositive());
+    }
+}
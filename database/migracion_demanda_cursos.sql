@@ -0,0 +1,34 @@
+-- =============================================
+-- MIGRACIÓN: DEMANDA POR CURSO
+-- =============================================
+-- Crea demanda_cursos, los totales de estudiantes que proyectaron cada curso que sirve
+-- GET /api/admin/demand. Con spring.jpa.hibernate.ddl-auto=none la aplicación no crea la tabla
+-- por su cuenta.
+--
+-- La aplicación suma los cambios en memoria y los vuelca cada pocos segundos; con
+-- samebanner.demanda.reconstruir-al-iniciar=true además recalcula la tabla al arrancar.
+-- El script la llena igual, para las instalaciones con varias instancias donde esa opción
+-- debe quedar en false.
+--
+-- Pasos:
+--   1. Detener la aplicación (ninguna instancia debe guardar proyecciones mientras corre el
+--      script, o esos cambios no quedarían contados).
+--   2. Ejecutar este script. Se puede repetir sin riesgo: recalcula los totales desde cero.
+--   3. Desplegar la nueva versión.
+
+USE samebanner;
+
+CREATE TABLE IF NOT EXISTS demanda_cursos (
+    curso_id INT PRIMARY KEY,
+    proyectados BIGINT NOT NULL DEFAULT 0,
+    fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (curso_id) REFERENCES cursos(id) ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE=InnoDB;
+
+DELETE FROM demanda_cursos;
+
+INSERT INTO demanda_cursos (curso_id, proyectados, fecha_actualizacion)
+SELECT c.id, COUNT(pc.id), NOW()
+FROM cursos c
+LEFT JOIN proyeccion_cursos pc ON pc.curso_id = c.id
+GROUP BY c.id;
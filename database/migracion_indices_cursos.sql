@@ -0,0 +1,46 @@
+-- =============================================
+-- MIGRACIÓN: ÍNDICES DEL LISTADO PAGINADO DE CURSOS
+-- =============================================
+-- Para bases creadas con una versión anterior de samebanner.sql. GET /api/courses?limit=...
+-- pagina por keyset (WHERE (orden, id) > (valor, id)); sin estos índices cada página
+-- recorre y ordena la tabla cursos completa.
+--
+-- Pasos:
+--   1. Ejecutar este script. No hace falta detener la aplicación: InnoDB crea los índices
+--      en línea (ALGORITHM=INPLACE), sin bloquear lecturas ni escrituras sobre cursos.
+--   2. Se puede repetir sin riesgo: solo crea los índices que todavía no existen.
+--
+-- MySQL no admite CREATE INDEX IF NOT EXISTS, por eso la comprobación va en un procedimiento
+-- temporal que se elimina al final.
+
+USE samebanner;
+
+DROP PROCEDURE IF EXISTS crear_indice_si_falta;
+
+DELIMITER //
+CREATE PROCEDURE crear_indice_si_falta(IN tabla VARCHAR(64), IN indice VARCHAR(64), IN columnas VARCHAR(255))
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = tabla AND index_name = indice
+    ) THEN
+        SET @ddl = CONCAT('CREATE INDEX ', indice, ' ON ', tabla, '(', columnas, ') ALGORITHM=INPLACE LOCK=NONE');
+        PREPARE sentencia FROM @ddl;
+        EXECUTE sentencia;
+        DEALLOCATE PREPARE sentencia;
+    END IF;
+END //
+DELIMITER ;
+
+-- Filtros del listado; terminan en la columna de orden por defecto (codigo_curso) e id
+CALL crear_indice_si_falta('cursos', 'idx_cursos_carrera_ciclo_codigo', 'carrera_id, ciclo, codigo_curso, id');
+CALL crear_indice_si_falta('cursos', 'idx_cursos_sede_turno_codigo', 'sede, turno, modalidad, codigo_curso, id');
+CALL crear_indice_si_falta('cursos', 'idx_cursos_area_codigo', 'area_conocimiento, codigo_curso, id');
+CALL crear_indice_si_falta('cursos', 'idx_cursos_docente_codigo', 'docente_id, codigo_curso, id');
+CALL crear_indice_si_falta('cursos', 'idx_cursos_activo_codigo', 'activo, codigo_curso, id');
+-- Ordenamientos alternativos sin filtro
+CALL crear_indice_si_falta('cursos', 'idx_cursos_nombre_id', 'nombre, id');
+CALL crear_indice_si_falta('cursos', 'idx_cursos_creditos_id', 'creditos, id');
+CALL crear_indice_si_falta('cursos', 'idx_cursos_ciclo_id', 'ciclo, id');
+
+DROP PROCEDURE crear_indice_si_falta;
@@ -0,0 +1,32 @@
+-- =============================================
+-- MIGRACIÓN: IDS DESDE LA TABLA secuencias
+-- =============================================
+-- Para bases creadas con una versión anterior de samebanner.sql, en la que todas las
+-- tablas usaban solo AUTO_INCREMENT. La aplicación ahora reserva bloques de ids en
+-- secuencias para que Hibernate pueda agrupar los INSERT en lotes.
+--
+-- Pasos:
+--   1. Detener la aplicación (ninguna instancia debe insertar mientras corre el script).
+--   2. Ejecutar este script. Se puede repetir sin riesgo: nunca retrocede una secuencia.
+--   3. Desplegar la nueva versión.
+--
+-- Las columnas id conservan AUTO_INCREMENT, así que volver a la versión anterior no requiere
+-- deshacer nada: InnoDB lleva su contador más allá del mayor id insertado explícitamente.
+-- Cualquier INSERT manual posterior debe tomar su id de secuencias (o volver a ejecutar
+-- este script después), porque AUTO_INCREMENT puede caer dentro de un bloque ya reservado.
+
+USE samebanner;
+
+CREATE TABLE IF NOT EXISTS secuencias (
+    nombre VARCHAR(64) PRIMARY KEY,
+    siguiente BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO secuencias (nombre, siguiente)
+SELECT 'carreras', COALESCE(MAX(id), 0) + 1 FROM carreras
+UNION ALL SELECT 'docentes', COALESCE(MAX(id), 0) + 1 FROM docentes
+UNION ALL SELECT 'usuarios', COALESCE(MAX(id), 0) + 1 FROM usuarios
+UNION ALL SELECT 'cursos', COALESCE(MAX(id), 0) + 1 FROM cursos
+UNION ALL SELECT 'proyecciones', COALESCE(MAX(id), 0) + 1 FROM proyecciones
+UNION ALL SELECT 'proyeccion_cursos', COALESCE(MAX(id), 0) + 1 FROM proyeccion_cursos
+ON DUPLICATE KEY UPDATE siguiente = GREATEST(siguiente, VALUES(siguiente));
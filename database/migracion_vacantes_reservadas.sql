@@ -0,0 +1,36 @@
+-- =============================================
+-- MIGRACIÓN: VACANTES RESERVADAS POR LAS PROYECCIONES
+-- =============================================
+-- Desde que cada curso agregado a una proyección descuenta una vacante
+-- (samebanner.proyecciones.reservar-vacantes=true), cursos.vacantes_disponibles debe ser
+-- vacantes_totales menos las filas de proyeccion_cursos del curso. Las proyecciones creadas
+-- antes de ese cambio no descontaron nada, así que sus cursos muestran más vacantes de las
+-- que quedan y se podrían sobrevender.
+--
+-- Pasos:
+--   1. Detener la aplicación (ninguna instancia debe reservar mientras corre el script).
+--   2. Ejecutar este script. Se puede repetir sin riesgo: recalcula el valor desde cero en
+--      lugar de restar sobre lo que ya hay.
+--   3. Revisar la consulta final: lista los cursos que ya tenían más estudiantes proyectados
+--      que vacantes; quedan con 0 disponibles y no admiten nuevas reservas hasta que se
+--      amplíen sus vacantes_totales o se liberen cupos.
+--   4. Desplegar la nueva versión.
+--
+-- Cualquier ajuste manual previo de vacantes_disponibles (p. ej. cupos apartados fuera del
+-- sistema) se pierde; si existían, deben restarse de vacantes_totales antes de ejecutarlo.
+
+USE samebanner;
+
+UPDATE cursos c
+LEFT JOIN (
+    SELECT curso_id, COUNT(*) AS reservadas
+    FROM proyeccion_cursos
+    GROUP BY curso_id
+) pc ON pc.curso_id = c.id
+SET c.vacantes_disponibles = GREATEST(0, c.vacantes_totales - COALESCE(pc.reservadas, 0));
+
+SELECT c.id, c.codigo_curso, c.vacantes_totales, COUNT(pc.id) AS proyectados
+FROM cursos c
+JOIN proyeccion_cursos pc ON pc.curso_id = c.id
+GROUP BY c.id, c.codigo_curso, c.vacantes_totales
+HAVING COUNT(pc.id) > c.vacantes_totales;
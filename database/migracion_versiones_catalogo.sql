@@ -0,0 +1,28 @@
+-- =============================================
+-- MIGRACIÓN: VERSIONES DEL CATÁLOGO EN LA BASE DE DATOS
+-- =============================================
+-- Para bases creadas con una versión anterior de samebanner.sql. La versión de cada tabla del
+-- catálogo (el ETag de /api/courses, /api/carreras y /api/teachers) vivía en la memoria de cada
+-- instancia: una edición hecha en una instancia no llegaba a las demás, que seguían respondiendo
+-- 304 con su listado anterior. Ahora se guarda en versiones_catalogo y cada escritura la
+-- incrementa en su misma transacción.
+--
+-- Pasos:
+--   1. Ejecutar este script. Se puede repetir sin riesgo y no requiere detener la aplicación.
+--   2. Desplegar la nueva versión.
+--
+-- Las filas empiezan en la hora actual en milisegundos: los ETag que los clientes guardaron con
+-- la versión anterior (que incluían la hora de arranque) no coinciden con los nuevos.
+
+USE samebanner;
+
+CREATE TABLE IF NOT EXISTS versiones_catalogo (
+    tabla VARCHAR(20) PRIMARY KEY,
+    version BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO versiones_catalogo (tabla, version)
+SELECT 'CURSOS', UNIX_TIMESTAMP() * 1000
+UNION ALL SELECT 'CARRERAS', UNIX_TIMESTAMP() * 1000
+UNION ALL SELECT 'DOCENTES', UNIX_TIMESTAMP() * 1000
+ON DUPLICATE KEY UPDATE version = version;
@@ -0,0 +1,28 @@
+-- =============================================
+-- MIGRACIÓN: VISTA DE LECTURA DE LAS PROYECCIONES
+-- =============================================
+-- Crea vistas_proyeccion, el documento JSON por estudiante que sirve GET /api/student/projections/view.
+-- Con spring.jpa.hibernate.ddl-auto=none la aplicación no crea la tabla por su cuenta.
+--
+-- La tabla solo guarda datos derivados de proyecciones, proyeccion_cursos, cursos y docentes:
+-- la aplicación vuelve a armar cada vista en la primera lectura. Por eso el script la borra y la
+-- crea de nuevo en lugar de alterarla, lo que también cubre bases donde ya existía sin la
+-- columna generacion.
+--
+-- Pasos:
+--   1. Detener la aplicación (una instancia que ya use la tabla fallaría mientras no existe).
+--   2. Ejecutar este script. Se puede repetir sin riesgo.
+--   3. Desplegar la nueva versión. Las primeras lecturas del dashboard arman las vistas.
+
+USE samebanner;
+
+DROP TABLE IF EXISTS vistas_proyeccion;
+
+CREATE TABLE vistas_proyeccion (
+    usuario_id INT PRIMARY KEY,
+    documento MEDIUMTEXT NULL,
+    etag VARCHAR(32) NULL,
+    fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    generacion BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (usuario_id) REFERENCES usuarios(id) ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE=InnoDB;
@@ -106,6 +106,49 @@ CREATE TABLE proyeccion_cursos (
     UNIQUE KEY (proyeccion_id, curso_id)  -- Evita duplicados
 ) ENGINE=InnoDB;
 
+-- Vista de lectura del dashboard: un documento JSON por estudiante, armado por la aplicación
+-- a partir de proyecciones, proyeccion_cursos, cursos y docentes. Sin documento la vista está
+-- descartada; generacion impide que una construcción anterior pise a una posterior
+CREATE TABLE vistas_proyeccion (
+    usuario_id INT PRIMARY KEY,
+    documento MEDIUMTEXT NULL,
+    etag VARCHAR(32) NULL,
+    fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    generacion BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (usuario_id) REFERENCES usuarios(id) ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE=InnoDB;
+
+-- Estudiantes que proyectaron cada curso; la aplicación suma los cambios en lotes periódicos
+-- y puede recalcularla desde proyeccion_cursos (POST /api/admin/demand/rebuild)
+CREATE TABLE demanda_cursos (
+    curso_id INT PRIMARY KEY,
+    proyectados BIGINT NOT NULL DEFAULT 0,
+    fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (curso_id) REFERENCES cursos(id) ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE=InnoDB;
+
+-- Siguiente id libre de cada tabla. La aplicación reserva bloques de ids aquí (en lugar de usar
+-- AUTO_INCREMENT) para poder insertar en lotes; se inicializa al final del script
+CREATE TABLE secuencias (
+    nombre VARCHAR(64) PRIMARY KEY,
+    siguiente BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+-- Versión de cada tabla del catálogo (ETag de los listados). La aplicación la incrementa en la
+-- misma transacción que cada escritura, así todas las instancias responden con el mismo ETag.
+-- Una modificación hecha a mano debe incrementarla también:
+--   UPDATE versiones_catalogo SET version = version + 1 WHERE tabla = 'CURSOS';
+CREATE TABLE versiones_catalogo (
+    tabla VARCHAR(20) PRIMARY KEY,
+    version BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+-- Empiezan en la hora actual en milisegundos, así una base recreada no repite ETag anteriores
+INSERT INTO versiones_catalogo (tabla, version)
+SELECT 'CURSOS', UNIX_TIMESTAMP() * 1000
+UNION ALL SELECT 'CARRERAS', UNIX_TIMESTAMP() * 1000
+UNION ALL SELECT 'DOCENTES', UNIX_TIMESTAMP() * 1000;
+
 -- =============================================
 -- ÍNDICES PARA MEJORAR EL RENDIMIENTO
 -- =============================================
@@ -115,6 +158,19 @@ CREATE INDEX idx_cursos_ciclo ON cursos(ciclo);
 CREATE INDEX idx_cursos_carrera ON cursos(carrera_id);
 CREATE INDEX idx_cursos_docente ON cursos(docente_id);
 
+-- Índices para el listado paginado de cursos (GET /api/courses?limit=...)
+-- Cada índice termina en la columna de orden por defecto (codigo_curso) e id, para que
+-- el filtro y la condición de keyset se resuelvan sobre el mismo índice sin ordenar en memoria
+CREATE INDEX idx_cursos_carrera_ciclo_codigo ON cursos(carrera_id, ciclo, codigo_curso, id);
+CREATE INDEX idx_cursos_sede_turno_codigo ON cursos(sede, turno, modalidad, codigo_curso, id);
+CREATE INDEX idx_cursos_area_codigo ON cursos(area_conocimiento, codigo_curso, id);
+CREATE INDEX idx_cursos_docente_codigo ON cursos(docente_id, codigo_curso, id);
+CREATE INDEX idx_cursos_activo_codigo ON cursos(activo, codigo_curso, id);
+-- Ordenamientos alternativos sin filtro
+CREATE INDEX idx_cursos_nombre_id ON cursos(nombre, id);
+CREATE INDEX idx_cursos_creditos_id ON cursos(creditos, id);
+CREATE INDEX idx_cursos_ciclo_id ON cursos(ciclo, id);
+
 -- Índices para la tabla usuarios
 CREATE INDEX idx_usuarios_carrera ON usuarios(carrera_id);
 
@@ -411,3 +467,13 @@ INSERT INTO cursos (codigo_curso, nombre, descripcion, creditos, ciclo, carrera_
 ('DER-ELEC-02', 'Derechos Humanos', 'Protección internacional de DDHH', 4, 'Ciclo_08', 3, 'Derecho Internacional', 'presencial', 'Campus Sur - Edificio K', 'noche', 20, 20, 9, 'Lunes,Miércoles', '18:00:00', '20:00:00', 'K-805'),
 ('DER-ELEC-03', 'Derecho de Propiedad Intelectual', 'Protección de creaciones intelectuales', 4, 'Ciclo_09', 3, 'Derecho Comercial', 'presencial', 'Campus Sur - Edificio L', 'noche', 20, 20, NULL, 'Martes,Jueves', '18:00:00', '20:00:00', 'L-905'),
 ('DER-ELEC-04', 'Derecho Marítimo', 'Legislación marítima internacional', 4, 'Ciclo_10', 3, 'Derecho Internacional', 'presencial', 'Campus Sur - Edificio M', 'noche', 20, 20, 9, 'Lunes,Miércoles', '18:00:00', '20:00:00', 'M-1004');
+
+-- 5. Inicializar las secuencias con el siguiente id libre de cada tabla
+-- Las filas insertadas arriba toman su id de AUTO_INCREMENT; desde aquí los asigna la aplicación
+INSERT INTO secuencias (nombre, siguiente)
+SELECT 'carreras', COALESCE(MAX(id), 0) + 1 FROM carreras
+UNION ALL SELECT 'docentes', COALESCE(MAX(id), 0) + 1 FROM docentes
+UNION ALL SELECT 'usuarios', COALESCE(MAX(id), 0) + 1 FROM usuarios
+UNION ALL SELECT 'cursos', COALESCE(MAX(id), 0) + 1 FROM cursos
+UNION ALL SELECT 'proyecciones', COALESCE(MAX(id), 0) + 1 FROM proyecciones
+UNION ALL SELECT 'proyeccion_cursos', COALESCE(MAX(id), 0) + 1 FROM proyeccion_cursos;
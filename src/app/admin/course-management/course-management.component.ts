@@ -1392,7 +1392,8 @@ export class CourseManagementComponent implements OnInit {
 
   prepareCourseDTO(): Partial<CourseDTO> {
     // Extraer los componentes del horario
-    const schedulePattern = /([^:]+)(?: (\d{1,2}:\d{2}) - (\d{1,2}:\d{2}))?/;
+    // "LUN-MIE 08:00 - 10:00": los días son todo lo que precede al rango de horas
+    const schedulePattern = /^\s*(.+?)(?:\s+(\d{1,2}:\d{2})\s*-\s*(\d{1,2}:\d{2}))?\s*$/;
     const match = this.newCourse.schedule?.match(schedulePattern) || [];
 
     const horarioDias = match[1] || 'LUN';
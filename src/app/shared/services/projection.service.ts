@@ -51,17 +51,93 @@ export interface CreateProjectionRequest {
   codigosCursos: string[];
 }
 
+export interface UpdateProjectionRequest {
+  cicloProyectado?: string;
+  agregar?: string[];
+  quitar?: string[];
+}
+
+export interface ProjectionViewCourse {
+  id: number;
+  codigoCurso: string;
+  nombre: string;
+  creditos: number;
+  modalidad: string;
+  sede: string;
+  turno: string;
+  aula: string;
+  enlaceVirtual: string;
+  horarioDias: string;
+  horaInicio: string;
+  horaFin: string;
+  docenteId: number | null;
+  docente: string | null;
+}
+
+export interface ProjectionViewSlot {
+  dia: string;
+  horaInicio: string;
+  horaFin: string;
+  codigoCurso: string;
+  nombre: string;
+  aula: string;
+}
+
+export interface ProjectionView {
+  usuarioId: number;
+  proyeccionId: number;
+  cicloProyectado: string;
+  fechaActualizacion: string;
+  totalCursos: number;
+  totalCreditos: number;
+  cursos: ProjectionViewCourse[];
+  horario: ProjectionViewSlot[];
+}
+
 @Injectable({
   providedIn: 'root',
 })
 export class ProjectionService {
   private apiUrl = `${environment.apiUrl}/student/projections`;
 
+  // Última vista recibida y su ETag, para revalidar con If-None-Match
+  private cachedView: { etag: string; view: ProjectionView } | null = null;
+
   constructor(
     private http: HttpClient,
     private authService: AuthService
   ) {}
 
+  // Proyección, cursos, docentes, horario y créditos en una sola llamada; 304 reutiliza la copia local
+  getProjectionView(): Observable<ProjectionView | null> {
+    let headers = this.authService.getAuthHeaders();
+    if (this.cachedView) {
+      headers = headers.set('If-None-Match', this.cachedView.etag);
+    }
+
+    return this.http
+      .get<ProjectionView>(`${this.apiUrl}/view`, { headers, observe: 'response' })
+      .pipe(
+        map((response) => {
+          const etag = response.headers.get('ETag');
+          if (response.body && etag) {
+            this.cachedView = { etag, view: response.body };
+          }
+          return response.body;
+        }),
+        catchError((error) => {
+          if (error.status === 304 && this.cachedView) {
+            return of(this.cachedView.view);
+          }
+          if (error.status === 404) {
+            this.cachedView = null;
+          }
+          console.error('Error al obtener la vista de la proyección:', error);
+          return of(null);
+        })
+      );
+  }
+
   getProjection(): Observable<Projection | null> {
     return this.http
       .get<Projection>(this.apiUrl, {
@@ -197,6 +273,8 @@ export class ProjectionService {
                 'Datos de proyección inválidos: ' + error.error?.message
               )
             );
+          } else if (error.status === 409) {
+            return throwError(() => new Error(this.conflictMessage(error.error)));
           } else {
             return throwError(() =>
               new Error('Error del servidor: ' + error.message)
@@ -206,6 +284,65 @@ export class ProjectionService {
       );
   }
 
+  addCourse(courseCode: string): Observable<Projection | null> {
+    return this.updateProjection({ agregar: [courseCode] });
+  }
+
+  removeCourse(courseCode: string): Observable<Projection | null> {
+    return this.updateProjection({ quitar: [courseCode] });
+  }
+
+  // Envía solo los cursos agregados o retirados, no la lista completa
+  updateProjection(
+    changes: UpdateProjectionRequest
+  ): Observable<Projection | null> {
+    const payload: UpdateProjectionRequest = {
+      ...changes,
+      cicloProyectado: changes.cicloProyectado
+        ? this.formatCiclo(changes.cicloProyectado)
+        : undefined,
+    };
+
+    return this.http
+      .patch<Projection>(this.apiUrl, payload, {
+        headers: this.authService.getAuthHeaders(),
+        observe: 'response',
+      })
+      .pipe(
+        map((response) => response.body),
+        catchError((error) => {
+          console.error('Error al actualizar la proyección:', error);
+          if (error.status === 401) {
+            return throwError(() => new Error('Usuario no autenticado'));
+          } else if (error.status === 404) {
+            return of(null);
+          } else if (error.status === 409) {
+            return throwError(() => new Error(this.conflictMessage(error.error)));
+          }
+          return throwError(() =>
+            new Error('Error del servidor: ' + error.message)
+          );
+        })
+      );
+  }
+
+  // 409 del servidor: cruce de horario (conflictos) o cursos sin vacantes (cursosSinVacantes)
+  private conflictMessage(body: any): string {
+    if (body?.cursosSinVacantes?.length) {
+      return `No hay vacantes disponibles en: ${body.cursosSinVacantes.join(', ')}`;
+    }
+    if (body?.conflictos?.length) {
+      const detalle = body.conflictos
+        .map(
+          (c: any) =>
+            `${c.codigoCurso} y ${c.codigoCursoConflicto} (${(c.dias || []).join(', ')} ${c.desde} - ${c.hasta})`
+        )
+        .join('; ');
+      return `Cruce de horario: ${detalle}`;
+    }
+    return body?.message || 'La proyección tiene un conflicto con el servidor';
+  }
+
   private formatCiclo(ciclo: string): string {
     if (/^Ciclo_\d{2}$/.test(ciclo)) {
       return ciclo;
@@ -9,7 +9,7 @@ import {
   Course,
 } from '../../shared/services/projection.service';
 import { switchMap, catchError } from 'rxjs/operators';
-import { of } from 'rxjs';
+import { Observable, of } from 'rxjs';
 import Swal from 'sweetalert2';
 
 interface ScheduleEvent {
@@ -2816,7 +2816,9 @@ export class CourseProjectionComponent implements OnInit {
           Swal.fire({
             icon: 'error',
             title: 'Error',
-            text: 'Hubo un error al guardar la proyección. Por favor, inténtelo de nuevo.',
+            text:
+              error.message ||
+              'Hubo un error al guardar la proyección. Por favor, inténtelo de nuevo.',
           });
         }
       );
@@ -3002,14 +3004,60 @@ export class CourseProjectionComponent implements OnInit {
     this.selectedCourses.push(course);
     this.updateCredits();
     this.updateScheduleEvents();
+
+    if (this.hasExistingProjection) {
+      this.syncProjection(this.projectionService.addCourse(course.code), () => {
+        this.selectedCourses = this.selectedCourses.filter(
+          (c) => c.code !== course.code
+        );
+      });
+    }
   }
 
   removeCourse(course: Course) {
+    const index = this.selectedCourses.findIndex((c) => c.code === course.code);
     this.selectedCourses = this.selectedCourses.filter(
       (c) => c.code !== course.code
     );
     this.updateCredits();
     this.updateScheduleEvents();
+
+    if (this.hasExistingProjection) {
+      this.syncProjection(this.projectionService.removeCourse(course.code), () => {
+        if (index >= 0 && !this.isCourseSelected(course)) {
+          this.selectedCourses.splice(index, 0, course);
+        }
+      });
+    }
+  }
+
+  // Con una proyección ya guardada, cada cambio se envía como PATCH de un solo curso.
+  // El cambio local se aplica antes de la respuesta; si el servidor lo rechaza (cruce de
+  // horario, sin vacantes) se deshace para que la pantalla coincida con lo guardado.
+  private syncProjection(
+    request: Observable<Projection | null>,
+    revertir: () => void
+  ) {
+    request.subscribe(
+      (projection) => {
+        if (projection) {
+          this.projection = projection;
+        }
+      },
+      (error) => {
+        console.error('Error al sincronizar la proyección:', error);
+        revertir();
+        this.updateCredits();
+        this.updateScheduleEvents();
+        Swal.fire({
+          icon: 'error',
+          title: 'No se pudo actualizar la proyección',
+          text: error.message,
+          confirmButtonText: 'Entendido',
+          confirmButtonColor: '#0053bb',
+        });
+      }
+    );
   }
 
   isCourseSelected(course: Course): boolean {